@@ -12,9 +12,14 @@ import org.apache.logging.log4j.Logger;
 import tehnut.resourceful.crops.compat.Compatibility;
 import tehnut.resourceful.crops.core.ConfigHandler;
 import tehnut.resourceful.crops.core.SeedLoader;
+import tehnut.resourceful.crops.core.SeedRegistrar;
+import tehnut.resourceful.crops.core.SeedReloader;
+import tehnut.resourceful.crops.core.SeedTable;
+import tehnut.resourceful.crops.network.ResourcefulPacketHandler;
 import tehnut.resourceful.crops.proxy.CommonProxy;
 import tehnut.resourceful.crops.core.ModObjects;
 import tehnut.resourceful.crops.util.AnnotationHelper;
+import tehnut.resourceful.crops.util.StartupTimer;
 
 import java.io.File;
 import java.util.Set;
@@ -46,28 +51,68 @@ public class ResourcefulCrops {
 
     @Mod.EventHandler
     public void preInit(FMLPreInitializationEvent event) {
+        long start = StartupTimer.start();
         configDir = new File(event.getModConfigurationDirectory(), MODID);
 
         modCompatibilities = event.getAsmData().getAll(Compatibility.class.getCanonicalName());
 
+        long phaseStart = StartupTimer.start();
         ModObjects.preInit();
+        StartupTimer.end("preInit.objects", phaseStart);
+        ResourcefulPacketHandler.init();
 
+        phaseStart = StartupTimer.start();
         PROXY.preInit();
+        StartupTimer.end("preInit.proxy", phaseStart);
+        StartupTimer.end("preInit", start);
     }
 
     @Mod.EventHandler
     public void init(FMLInitializationEvent event) {
+        long start = StartupTimer.start();
+        long phaseStart = StartupTimer.start();
         SeedLoader.init(new File(configDir, "seeds"));
+        SeedRegistrar.registerPending();
+        SeedTable.build();
+        StartupTimer.end("init.seeds", phaseStart);
+
+        phaseStart = StartupTimer.start();
         ModObjects.init();
+        StartupTimer.end("init.recipes", phaseStart);
 
+        phaseStart = StartupTimer.start();
         AnnotationHelper.loadCompatibilities(modCompatibilities);
+        StartupTimer.end("init.compat", phaseStart);
 
+        phaseStart = StartupTimer.start();
         PROXY.init();
+        StartupTimer.end("init.proxy", phaseStart);
+        StartupTimer.end("init", start);
+    }
+
+    @Mod.EventHandler
+    public void handleIMC(FMLInterModComms.IMCEvent event) {
+        SeedRegistrar.handleIMC(event.getMessages());
     }
 
     @Mod.EventHandler
     public void postInit(FMLPostInitializationEvent event) {
+        long start = StartupTimer.start();
         PROXY.postInit();
+        StartupTimer.end("postInit", start);
+
+        StartupTimer.report(new File(configDir, "startup-timings.json"));
+    }
+
+    @Mod.EventHandler
+    public void serverStarting(FMLServerStartingEvent event) {
+        if (ConfigHandler.miscellaneous.enableSeedHotReload)
+            SeedReloader.start(event.getServer(), new File(configDir, "seeds"));
+    }
+
+    @Mod.EventHandler
+    public void serverStopping(FMLServerStoppingEvent event) {
+        SeedReloader.stop();
     }
 
     public static void debug(String message, Object... params) {
@@ -0,0 +1,58 @@
+package tehnut.resourceful.crops.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lets other mods add seeds without writing seed files.
+ *
+ * Seeds can be registered directly with {@link #registerSeeds(Collection)}, or sent over IMC with
+ * {@link #createIMCMessage(Collection)} as the {@link #IMC_REGISTER_SEEDS} message. Either way, seeds must be submitted
+ * before post init. They are validated and registered together in one batch, so submit as many at once as possible.
+ */
+public class ResourcefulCropsAPI {
+
+    /**
+     * The IMC key for registering seeds. The message is an NBT compound with a {@code seeds} list of compounds, each
+     * written by {@link SeedDefinition#writeToNBT(NBTTagCompound)}.
+     */
+    public static final String IMC_REGISTER_SEEDS = "registerSeeds";
+
+    private static final List<SeedDefinition> PENDING = Lists.newArrayList();
+
+    public static void registerSeed(SeedDefinition definition) {
+        registerSeeds(ImmutableList.of(definition));
+    }
+
+    public static void registerSeeds(Collection<SeedDefinition> definitions) {
+        synchronized (PENDING) {
+            PENDING.addAll(definitions);
+        }
+    }
+
+    public static NBTTagCompound createIMCMessage(Collection<SeedDefinition> definitions) {
+        NBTTagList seedList = new NBTTagList();
+        for (SeedDefinition definition : definitions)
+            seedList.appendTag(definition.writeToNBT(new NBTTagCompound()));
+
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setTag("seeds", seedList);
+        return tag;
+    }
+
+    /**
+     * Used by Resourceful Crops to collect every seed submitted so far. Not meant to be called by other mods.
+     */
+    public static List<SeedDefinition> takePendingSeeds() {
+        synchronized (PENDING) {
+            List<SeedDefinition> pending = ImmutableList.copyOf(PENDING);
+            PENDING.clear();
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package tehnut.resourceful.crops.api;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything needed to create a seed, as submitted through {@link ResourcefulCropsAPI}. Only the name, tier, craft
+ * amount, color, an input and at least one output are required. Definitions are validated when they are registered.
+ *
+ * Definitions can also be written to NBT to send them over IMC. See {@link ResourcefulCropsAPI#IMC_REGISTER_SEEDS}.
+ */
+public class SeedDefinition {
+
+    private final String name;
+    private final int tier;
+    private final int craftAmount;
+    private final int color;
+    private final Map<String, int[]> tintColors = Maps.newLinkedHashMap();
+
+    private final List<ItemStack> inputItems = Lists.newArrayList();
+    @Nullable
+    private String inputOre;
+    private final List<OutputDefinition> outputs = Lists.newArrayList();
+
+    private int minLight = 7;
+    private int maxLight = 15;
+    @Nullable
+    private IBlockState requiredState;
+    @Nullable
+    private String requiredOre;
+    private final List<ResourceLocation> biomes = Lists.newArrayList();
+    private final List<Integer> dimensions = Lists.newArrayList();
+    private boolean requiresSky;
+    private int minStageTicks;
+    private int maxStageTicks;
+
+    /**
+     * @param name - The name of the seed. Seeds with the same name replace each other, and seed files in the config
+     *             replace seeds added by mods.
+     * @param tier - The tier of the seed, from 0 to 3
+     * @param craftAmount - How many seeds one craft makes
+     * @param color - The color of the seed as packed RGB
+     */
+    public SeedDefinition(String name, int tier, int craftAmount, int color) {
+        this.name = name;
+        this.tier = tier;
+        this.craftAmount = craftAmount;
+        this.color = color;
+    }
+
+    /**
+     * Gives each tint layer of one part its own color, starting from tint index 0. Layers past the end, or set to -1,
+     * keep their default. The seed, shard and crop tint layer 0, and the pouch tints its overlay on layer 1.
+     *
+     * @param part - One of {@code seed}, {@code shard}, {@code pouch} or {@code crop}
+     * @param tintColors - The colors as packed RGB
+     */
+    public SeedDefinition setTintColors(String part, int... tintColors) {
+        this.tintColors.put(part, tintColors.clone());
+        return this;
+    }
+
+    public SeedDefinition addInput(ItemStack stack) {
+        inputItems.add(stack);
+        return this;
+    }
+
+    /**
+     * Uses every item registered to the ore dictionary name as input instead of a fixed list.
+     */
+    public SeedDefinition setInputOre(String oreName) {
+        this.inputOre = oreName;
+        return this;
+    }
+
+    public SeedDefinition addOutput(ItemStack stack) {
+        return addOutput(stack, "DEFAULT", null);
+    }
+
+    /**
+     * @param shape - The name of the recipe shape, as used in seed files
+     * @param customFormat - The recipe format for the {@code CUSTOM} shape
+     */
+    public SeedDefinition addOutput(ItemStack stack, String shape, @Nullable String customFormat) {
+        outputs.add(new OutputDefinition(stack, shape, customFormat));
+        return this;
+    }
+
+    public SeedDefinition setLight(int minLight, int maxLight) {
+        this.minLight = minLight;
+        this.maxLight = maxLight;
+        return this;
+    }
+
+    /**
+     * The state required two blocks below the crop.
+     */
+    public SeedDefinition setRequiredState(@Nullable IBlockState requiredState) {
+        this.requiredState = requiredState;
+        return this;
+    }
+
+    /**
+     * An ore dictionary name the block two below the crop must match.
+     */
+    public SeedDefinition setRequiredOre(@Nullable String requiredOre) {
+        this.requiredOre = requiredOre;
+        return this;
+    }
+
+    public SeedDefinition addBiome(ResourceLocation biome) {
+        biomes.add(biome);
+        return this;
+    }
+
+    public SeedDefinition addDimension(int dimension) {
+        dimensions.add(dimension);
+        return this;
+    }
+
+    public SeedDefinition setRequiresSky(boolean requiresSky) {
+        this.requiresSky = requiresSky;
+        return this;
+    }
+
+    /**
+     * Overrides the configured growth speed. 0 uses the config values.
+     */
+    public SeedDefinition setStageTicks(int minStageTicks, int maxStageTicks) {
+        this.minStageTicks = minStageTicks;
+        this.maxStageTicks = maxStageTicks;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getTier() {
+        return tier;
+    }
+
+    public int getCraftAmount() {
+        return craftAmount;
+    }
+
+    public int getColor() {
+        return color;
+    }
+
+    public Map<String, int[]> getTintColors() {
+        return Collections.unmodifiableMap(tintColors);
+    }
+
+    public List<ItemStack> getInputItems() {
+        return Collections.unmodifiableList(inputItems);
+    }
+
+    @Nullable
+    public String getInputOre() {
+        return inputOre;
+    }
+
+    public List<OutputDefinition> getOutputs() {
+        return Collections.unmodifiableList(outputs);
+    }
+
+    public int getMinLight() {
+        return minLight;
+    }
+
+    public int getMaxLight() {
+        return maxLight;
+    }
+
+    @Nullable
+    public IBlockState getRequiredState() {
+        return requiredState;
+    }
+
+    @Nullable
+    public String getRequiredOre() {
+        return requiredOre;
+    }
+
+    public List<ResourceLocation> getBiomes() {
+        return Collections.unmodifiableList(biomes);
+    }
+
+    public List<Integer> getDimensions() {
+        return Collections.unmodifiableList(dimensions);
+    }
+
+    public boolean requiresSky() {
+        return requiresSky;
+    }
+
+    public int getMinStageTicks() {
+        return minStageTicks;
+    }
+
+    public int getMaxStageTicks() {
+        return maxStageTicks;
+    }
+
+    public NBTTagCompound writeToNBT(NBTTagCompound tag) {
+        tag.setString("name", name);
+        tag.setInteger("tier", tier);
+        tag.setInteger("amount", craftAmount);
+        tag.setInteger("color", color);
+        NBTTagCompound tintTag = new NBTTagCompound();
+        for (Map.Entry<String, int[]> entry : tintColors.entrySet())
+            tintTag.setIntArray(entry.getKey(), entry.getValue());
+        tag.setTag("tintColors", tintTag);
+        if (inputOre != null)
+            tag.setString("ore", inputOre);
+        NBTTagList inputList = new NBTTagList();
+        for (ItemStack stack : inputItems)
+            inputList.appendTag(stack.writeToNBT(new NBTTagCompound()));
+        tag.setTag("inputs", inputList);
+
+        NBTTagList outputList = new NBTTagList();
+        for (OutputDefinition output : outputs) {
+            NBTTagCompound outputTag = new NBTTagCompound();
+            outputTag.setTag("item", output.getItem().writeToNBT(new NBTTagCompound()));
+            outputTag.setString("shape", output.getShape());
+            if (output.getCustomFormat() != null)
+                outputTag.setString("format", output.getCustomFormat());
+            outputList.appendTag(outputTag);
+        }
+        tag.setTag("outputs", outputList);
+
+        tag.setInteger("minLight", minLight);
+        tag.setInteger("maxLight", maxLight);
+        if (requiredState != null) {
+            tag.setString("state", requiredState.getBlock().getRegistryName().toString());
+            tag.setInteger("stateMeta", requiredState.getBlock().getMetaFromState(requiredState));
+        }
+        if (requiredOre != null)
+            tag.setString("requiredOre", requiredOre);
+        NBTTagList biomeList = new NBTTagList();
+        for (ResourceLocation biome : biomes)
+            biomeList.appendTag(new NBTTagString(biome.toString()));
+        tag.setTag("biomes", biomeList);
+        int[] dimensionArray = new int[dimensions.size()];
+        for (int i = 0; i < dimensionArray.length; i++)
+            dimensionArray[i] = dimensions.get(i);
+        tag.setIntArray("dimensions", dimensionArray);
+        tag.setBoolean("sky", requiresSky);
+        tag.setInteger("minStageTicks", minStageTicks);
+        tag.setInteger("maxStageTicks", maxStageTicks);
+        return tag;
+    }
+
+    /**
+     * Reads a definition written by {@link #writeToNBT(NBTTagCompound)}. Items and blocks that do not exist are left
+     * out, so the definition may fail validation later.
+     */
+    public static SeedDefinition readFromNBT(NBTTagCompound tag) {
+        SeedDefinition definition = new SeedDefinition(tag.getString("name"), tag.getInteger("tier"), tag.getInteger("amount"), tag.getInteger("color"));
+        NBTTagCompound tintTag = tag.getCompoundTag("tintColors");
+        for (String part : tintTag.getKeySet())
+            definition.setTintColors(part, tintTag.getIntArray(part));
+        if (tag.hasKey("ore"))
+            definition.setInputOre(tag.getString("ore"));
+        NBTTagList inputList = tag.getTagList("inputs", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < inputList.tagCount(); i++) {
+            ItemStack stack = ItemStack.loadItemStackFromNBT(inputList.getCompoundTagAt(i));
+            if (stack != null)
+                definition.addInput(stack);
+        }
+
+        NBTTagList outputList = tag.getTagList("outputs", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < outputList.tagCount(); i++) {
+            NBTTagCompound outputTag = outputList.getCompoundTagAt(i);
+            ItemStack stack = ItemStack.loadItemStackFromNBT(outputTag.getCompoundTag("item"));
+            if (stack != null)
+                definition.addOutput(stack, outputTag.hasKey("shape") ? outputTag.getString("shape") : "DEFAULT", outputTag.hasKey("format") ? outputTag.getString("format") : null);
+        }
+
+        if (tag.hasKey("minLight") || tag.hasKey("maxLight"))
+            definition.setLight(tag.hasKey("minLight") ? tag.getInteger("minLight") : 7, tag.hasKey("maxLight") ? tag.getInteger("maxLight") : 15);
+        if (tag.hasKey("state")) {
+            Block block = ForgeRegistries.BLOCKS.getValue(new ResourceLocation(tag.getString("state")));
+            if (block != null)
+                definition.setRequiredState(block.getStateFromMeta(tag.getInteger("stateMeta")));
+        }
+        if (tag.hasKey("requiredOre"))
+            definition.setRequiredOre(tag.getString("requiredOre"));
+        NBTTagList biomeList = tag.getTagList("biomes", Constants.NBT.TAG_STRING);
+        for (int i = 0; i < biomeList.tagCount(); i++)
+            definition.addBiome(new ResourceLocation(biomeList.getStringTagAt(i)));
+        for (int dimension : tag.getIntArray("dimensions"))
+            definition.addDimension(dimension);
+        definition.setRequiresSky(tag.getBoolean("sky"));
+        definition.setStageTicks(tag.getInteger("minStageTicks"), tag.getInteger("maxStageTicks"));
+        return definition;
+    }
+
+    public static class OutputDefinition {
+
+        private final ItemStack item;
+        private final String shape;
+        @Nullable
+        private final String customFormat;
+
+        public OutputDefinition(ItemStack item, String shape, @Nullable String customFormat) {
+            this.item = item;
+            this.shape = shape;
+            this.customFormat = customFormat;
+        }
+
+        public ItemStack getItem() {
+            return item;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        @Nullable
+        public String getCustomFormat() {
+            return customFormat;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+@API(owner = "resourcefulcrops", provides = "ResourcefulCropsAPI", apiVersion = "1.0.0")
+package tehnut.resourceful.crops.api;
+
+import net.minecraftforge.fml.common.API;
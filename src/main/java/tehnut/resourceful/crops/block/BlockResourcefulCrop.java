@@ -1,22 +1,31 @@
 package tehnut.resourceful.crops.block;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockCrops;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.common.EnumPlantType;
+import net.minecraftforge.event.ForgeEventFactory;
 import tehnut.resourceful.crops.ResourcefulCrops;
 import tehnut.resourceful.crops.block.tile.TileSeedContainer;
+import tehnut.resourceful.crops.core.ConfigHandler;
+import tehnut.resourceful.crops.core.HarvestSession;
 import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.data.GrowthRequirement;
 import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.growth.DormantCropTracker;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
 import tehnut.resourceful.crops.item.ItemResourceful;
-import tehnut.resourceful.crops.util.Util;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -27,16 +36,90 @@ public class BlockResourcefulCrop extends BlockCrops {
 
     @Override
     public void updateTick(World world, BlockPos pos, IBlockState state, Random rand) {
+        if (ConfigHandler.growth.enableScheduledGrowth) {
+            updateScheduledGrowth(world, pos, state, rand);
+            return;
+        }
+
+        if (isMaxAge(state) || DormantCropTracker.isDormant(world, pos))
+            return;
+
         if (canGrow(world, pos, state))
             super.updateTick(world, pos, state, rand);
+        else
+            DormantCropTracker.setDormant(world, pos);
+    }
+
+    @Override
+    public boolean getTickRandomly() {
+        return !ConfigHandler.growth.enableScheduledGrowth;
+    }
+
+    @Override
+    public void onBlockAdded(World world, BlockPos pos, IBlockState state) {
+        super.onBlockAdded(world, pos, state);
+        scheduleGrowth(world, pos, state);
+    }
+
+    @Override
+    public void neighborChanged(IBlockState state, World world, BlockPos pos, Block block) {
+        DormantCropTracker.wake(world, pos);
+        super.neighborChanged(state, world, pos, block);
     }
 
     @Override
     public List<ItemStack> getDrops(IBlockAccess world, BlockPos pos, IBlockState state, int fortune) {
-        List<ItemStack> drops = new ArrayList<ItemStack>();
-            drops.add(getFoodStack(getSeed(), world, pos));
-            if (getAge(state) >= 7)
-                drops.add(getFoodStack(getCrop(), world, pos));
+        ResourceLocation seedKey = SeedStorage.getSeedKey(world, pos);
+        List<ItemStack> drops = new ArrayList<ItemStack>(2);
+        drops.add(getFoodStack(getSeed(), seedKey));
+        if (getAge(state) >= 7)
+            drops.add(getFoodStack(getCrop(), seedKey));
+        return drops;
+    }
+
+    @Override
+    public boolean onBlockActivated(World world, BlockPos pos, IBlockState state, EntityPlayer player, EnumHand hand, @Nullable ItemStack heldItem, EnumFacing side, float hitX, float hitY, float hitZ) {
+        if (!ConfigHandler.balance.enableRightClickHarvest || !isMaxAge(state))
+            return false;
+
+        if (!world.isRemote) {
+            List<ItemStack> drops = harvestAndReplant(world, pos, state, 0, player);
+            if (drops != null)
+                for (ItemStack drop : drops)
+                    spawnAsEntity(world, pos, drop);
+        }
+
+        return true;
+    }
+
+    /**
+     * Harvests a mature crop and replants it in place. The crop keeps its seed container and is reset to age 0 with a
+     * single block update, instead of being broken and placed again. The seed used to replant is taken out of the drops,
+     * and the drop chance set by harvest event handlers is applied to the rest.
+     *
+     * @return the remaining drops, or null if the crop is not mature.
+     */
+    @Nullable
+    public List<ItemStack> harvestAndReplant(World world, BlockPos pos, IBlockState state, int fortune, @Nullable EntityPlayer player) {
+        if (world.isRemote || !isMaxAge(state) || SeedStorage.getSeedKey(world, pos) == null)
+            return null;
+
+        List<ItemStack> drops = getDrops(world, pos, state, fortune);
+        for (int i = 0; i < drops.size(); i++) {
+            ItemStack drop = drops.get(i);
+            if (drop != null && drop.getItem() == getSeed()) {
+                if (--drop.stackSize <= 0)
+                    drops.remove(i);
+                break;
+            }
+        }
+        float chance = ForgeEventFactory.fireBlockHarvesting(drops, world, pos, state, fortune, 1.0F, false, player);
+        HarvestSession.applyDropChance(world, drops, chance);
+
+        // Same block, so the container stays and neither breakBlock nor onBlockAdded run
+        IBlockState replanted = withAge(0);
+        world.setBlockState(pos, replanted, 2);
+        scheduleGrowth(world, pos, replanted);
         return drops;
     }
 
@@ -46,6 +129,13 @@ public class BlockResourcefulCrop extends BlockCrops {
         world.setBlockToAir(pos);
     }
 
+    @Override
+    public void breakBlock(World world, BlockPos pos, IBlockState state) {
+        SeedStorage.removeSeed(world, pos);
+        DormantCropTracker.wake(world, pos);
+        super.breakBlock(world, pos, state);
+    }
+
     @Override
     public boolean removedByPlayer(IBlockState state, World world, BlockPos pos, EntityPlayer player, boolean willHarvest) {
         return willHarvest || super.removedByPlayer(state, world, pos, player, willHarvest);
@@ -83,7 +173,7 @@ public class BlockResourcefulCrop extends BlockCrops {
 
     @Override
     public boolean hasTileEntity(IBlockState state) {
-        return true;
+        return !ConfigHandler.storage.useChunkStorage;
     }
 
     @Override
@@ -95,27 +185,83 @@ public class BlockResourcefulCrop extends BlockCrops {
         if (isMaxAge(state))
             return false;
 
-        TileSeedContainer seedContainer = Util.getSeedContainer(world, pos);
-        if (seedContainer == null)
-            return false;
-
-        Seed seed = ModObjects.SEEDS.getValue(seedContainer.getSeedKey());
+        Seed seed = SeedStorage.getSeed(world, pos);
         if (seed == null)
             return false;
 
-        if (world.getLightFromNeighbors(pos.up()) < seed.getGrowthRequirement().getMinLight() && world.getLightFromNeighbors(pos.up()) > seed.getGrowthRequirement().getMaxLight())
+        return seed.getGrowthRequirement().canGrow(world, pos);
+    }
+
+    /**
+     * Schedules the next growth stage of the crop if scheduled growth is enabled and one is not already pending.
+     */
+    public void scheduleGrowth(World world, BlockPos pos, IBlockState state) {
+        if (world.isRemote || !ConfigHandler.growth.enableScheduledGrowth || isMaxAge(state) || world.isUpdateScheduled(pos, this))
+            return;
+
+        // Seeds are stored after the crop is placed, so the first stage may fall back to the default times
+        Seed seed = SeedStorage.getSeed(world, pos);
+        GrowthRequirement growthRequirement = seed != null ? seed.getGrowthRequirement() : GrowthRequirement.DEFAULT;
+        int minTicks = growthRequirement.getMinStageTicks();
+        world.scheduleUpdate(pos, this, minTicks + world.rand.nextInt(growthRequirement.getMaxStageTicks() - minTicks + 1));
+    }
+
+    /**
+     * Advances the crop by the number of stages it would be expected to gain over the given number of ticks, based on
+     * the current growth mode and its surroundings right now.
+     *
+     * @return true if the crop grew.
+     */
+    public boolean catchUpGrowth(World world, BlockPos pos, IBlockState state, long elapsedTicks) {
+        if (!canGrow(world, pos, state))
             return false;
 
-        if (seed.getGrowthRequirement().getRequiredState() != null && !world.getBlockState(pos.down(2)).equals(seed.getGrowthRequirement().getRequiredState()))
+        double expectedStages;
+        if (ConfigHandler.growth.enableScheduledGrowth) {
+            GrowthRequirement growthRequirement = SeedStorage.getSeed(world, pos).getGrowthRequirement();
+            expectedStages = elapsedTicks / ((growthRequirement.getMinStageTicks() + growthRequirement.getMaxStageTicks()) / 2.0D);
+        } else {
+            if (world.getLightFromNeighbors(pos.up()) < 9)
+                return false;
+
+            // Same odds as BlockCrops: randomTickSpeed ticks per 4096 blocks each tick, each growing with a 1 in (25 / chance + 1) roll
+            double tickChance = world.getGameRules().getInt("randomTickSpeed") / 4096.0D;
+            double growChance = 1.0D / ((int) (25.0F / getGrowthChance(this, world, pos)) + 1);
+            expectedStages = elapsedTicks * tickChance * growChance;
+        }
+
+        int remaining = getMaxAge() - getAge(state);
+        int stages = (int) Math.min(expectedStages, remaining);
+        if (stages < remaining && world.rand.nextDouble() < expectedStages - stages)
+            stages++;
+
+        if (stages <= 0)
             return false;
 
+        world.setBlockState(pos, withAge(getAge(state) + stages), 2);
         return true;
     }
 
+    // Crops that cannot currently grow retry after another stage length rather than going dormant, as nothing would reschedule them
+    private void updateScheduledGrowth(World world, BlockPos pos, IBlockState state, Random rand) {
+        if (isMaxAge(state))
+            return;
+
+        if (canGrow(world, pos, state)) {
+            state = withAge(getAge(state) + 1);
+            world.setBlockState(pos, state, 2);
+        }
+
+        scheduleGrowth(world, pos, state);
+    }
+
     private ItemStack getFoodStack(Item toDrop, IBlockAccess world, BlockPos pos) {
-        TileSeedContainer cropTile = Util.getSeedContainer(world, pos);
-        if (cropTile != null)
-            return ItemResourceful.getResourcefulStack(toDrop, cropTile.getSeedKey());
+        return getFoodStack(toDrop, SeedStorage.getSeedKey(world, pos));
+    }
+
+    private ItemStack getFoodStack(Item toDrop, @Nullable ResourceLocation seedKey) {
+        if (seedKey != null)
+            return ((ItemResourceful) toDrop).getStack(seedKey, 1);
 
         return new ItemStack(toDrop, 1, Short.MAX_VALUE - 1);
     }
@@ -10,13 +10,21 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.storage.CropColorCache;
+import tehnut.resourceful.crops.core.storage.SeedIdMap;
 
 import javax.annotation.Nullable;
 
 public class TileSeedContainer extends TileEntity {
 
+    public static final String ID = ResourcefulCrops.MODID + ":seed_container";
+
     @Nullable
     private ResourceLocation seedKey;
+    // Id read from NBT that could not be resolved yet, either because the world was not available or the id is not known
+    // yet. -1 once resolved or if none was read. Guarded by this tile, as crops are also read from chunk render threads.
+    private int unresolvedSeedId = -1;
 
     public TileSeedContainer() {
 
@@ -30,13 +38,12 @@ public class TileSeedContainer extends TileEntity {
     public void readFromNBT(NBTTagCompound compound) {
         super.readFromNBT(compound);
 
-        this.seedKey = compound.hasKey("seedKey") ? new ResourceLocation(compound.getString("seedKey")) : null;
+        readSeed(compound);
     }
 
     @Override
     public NBTTagCompound writeToNBT(NBTTagCompound compound) {
-        if (seedKey != null)
-            compound.setString("seedKey", seedKey.toString());
+        writeSeed(compound);
         return super.writeToNBT(compound);
     }
 
@@ -50,39 +57,83 @@ public class TileSeedContainer extends TileEntity {
         return oldState.getBlock() != newState.getBlock();
     }
 
+    // The packet already carries the position, so only the seed is sent
     @Override
     public final SPacketUpdateTileEntity getUpdatePacket() {
-        return new SPacketUpdateTileEntity(getPos(), -999, writeToNBT(new NBTTagCompound()));
+        return new SPacketUpdateTileEntity(getPos(), -999, writeSeed(new NBTTagCompound()));
     }
 
     @Override
     @SideOnly(Side.CLIENT)
     public final void onDataPacket(NetworkManager net, SPacketUpdateTileEntity pkt) {
-        super.onDataPacket(net, pkt);
-        readFromNBT(pkt.getNbtCompound());
+        readSeed(pkt.getNbtCompound());
+        CropColorCache.invalidate(getPos());
     }
 
+    // Chunk data locates tile entities by the x, y and z tags, but does not need the id
     @Override
     public final NBTTagCompound getUpdateTag() {
-        return writeToNBT(new NBTTagCompound());
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setInteger("x", getPos().getX());
+        tag.setInteger("y", getPos().getY());
+        tag.setInteger("z", getPos().getZ());
+        return writeSeed(tag);
     }
 
     @Override
     public final void handleUpdateTag(NBTTagCompound tag) {
-        readFromNBT(tag);
+        readSeed(tag);
+        CropColorCache.invalidate(getPos());
     }
 
     @Nullable
-    public ResourceLocation getSeedKey() {
+    public synchronized ResourceLocation getSeedKey() {
+        if (unresolvedSeedId != -1 && hasWorldObj()) {
+            // Keep the id until it resolves, so a seed is never lost because its id arrived late
+            ResourceLocation resolved = SeedIdMap.get(getWorld()).getKey(unresolvedSeedId);
+            if (resolved != null) {
+                seedKey = resolved;
+                unresolvedSeedId = -1;
+            }
+        }
+
         return seedKey;
     }
 
     public void setSeedKey(@Nullable ResourceLocation seedKey) {
-        this.seedKey = seedKey;
+        synchronized (this) {
+            this.seedKey = seedKey;
+            this.unresolvedSeedId = -1;
+        }
         notifyUpdate();
     }
 
     public void notifyUpdate() {
         getWorld().notifyBlockUpdate(getPos(), getWorld().getBlockState(getPos()), getWorld().getBlockState(getPos()), 3);
     }
+
+    private synchronized void readSeed(NBTTagCompound compound) {
+        seedKey = null;
+        unresolvedSeedId = -1;
+        if (compound.hasKey("seedId"))
+            unresolvedSeedId = compound.getShort("seedId");
+        else if (compound.hasKey("seedKey")) // Saved before numeric ids were introduced
+            seedKey = new ResourceLocation(compound.getString("seedKey"));
+    }
+
+    private synchronized NBTTagCompound writeSeed(NBTTagCompound compound) {
+        ResourceLocation seedKey = getSeedKey();
+        if (seedKey == null) {
+            if (unresolvedSeedId != -1)
+                compound.setShort("seedId", (short) unresolvedSeedId);
+            return compound;
+        }
+
+        int seedId = hasWorldObj() ? SeedIdMap.get(getWorld()).getId(seedKey) : -1;
+        if (seedId >= 0 && seedId <= Short.MAX_VALUE)
+            compound.setShort("seedId", (short) seedId);
+        else
+            compound.setString("seedKey", seedKey.toString());
+        return compound;
+    }
 }
@@ -1,13 +1,26 @@
 package tehnut.resourceful.crops.compat;
 
+import WayofTime.bloodmagic.api.BlockStack;
 import WayofTime.bloodmagic.api.BloodMagicAPI;
+import WayofTime.bloodmagic.api.iface.IHarvestHandler;
 import WayofTime.bloodmagic.api.registry.HarvestRegistry;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import tehnut.resourceful.crops.core.ConfigHandler;
+import tehnut.resourceful.crops.core.HarvestSession;
 import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.recipe.SeedRecipeDispatcher;
 import tehnut.resourceful.crops.core.recipe.ShapedSeedRecipe;
+import tehnut.resourceful.crops.util.Util;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Map;
 
 @Compatibility(modid = "BloodMagic")
 public class CompatibilityBloodMagic implements ICompatibility {
@@ -15,8 +28,11 @@ public class CompatibilityBloodMagic implements ICompatibility {
     @Override
     public void loadCompatibility() {
         BloodMagicAPI.blacklistFromGreenGrove(ModObjects.CROP);
-        if (ConfigHandler.compatibility.enableBloodMagicAutomation)
-            HarvestRegistry.registerStandardCrop(ModObjects.CROP, 7);
+        if (ConfigHandler.compatibility.enableBloodMagicAutomation) {
+            HarvestHandlerResourceful handler = new HarvestHandlerResourceful();
+            HarvestRegistry.registerHandler(handler);
+            MinecraftForge.EVENT_BUS.register(handler);
+        }
 
         try {
             Class storageBlockAssimilatorClass = Class.forName("WayofTime.bloodmagic.compress.StorageBlockCraftingRecipeAssimilator");
@@ -24,8 +40,54 @@ public class CompatibilityBloodMagic implements ICompatibility {
             ignoreField.setAccessible(true);
             List<Class> ignore = (List<Class>) ignoreField.get(null);
             ignore.add(ShapedSeedRecipe.class);
+            ignore.add(SeedRecipeDispatcher.class);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Harvests crops for the Reap of the Harvest Moon. Everything harvested in a chunk during a tick goes into one
+     * {@link HarvestSession}, and the merged drops are spawned at the first crop harvested in that chunk once the tick
+     * ends. Grouping by chunk keeps the drops of separate rituals in the same world apart.
+     */
+    public static class HarvestHandlerResourceful implements IHarvestHandler {
+
+        private final Map<World, Map<Long, HarvestSession>> sessions = new MapMaker().weakKeys().makeMap();
+
+        @Override
+        public boolean harvestAndPlant(World world, BlockPos pos, BlockStack blockStack) {
+            if (blockStack.getBlock() != ModObjects.CROP)
+                return false;
+
+            Map<Long, HarvestSession> worldSessions = sessions.get(world);
+            if (worldSessions == null) {
+                worldSessions = Maps.newHashMap();
+                sessions.put(world, worldSessions);
+            }
+
+            long chunkKey = Util.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4);
+            HarvestSession session = worldSessions.get(chunkKey);
+            if (session == null) {
+                session = new HarvestSession(world, true);
+                worldSessions.put(chunkKey, session);
+            }
+
+            return session.harvest(pos, 0, null);
+        }
+
+        @SubscribeEvent
+        public void onWorldTick(TickEvent.WorldTickEvent event) {
+            if (event.phase != TickEvent.Phase.END)
+                return;
+
+            Map<Long, HarvestSession> worldSessions = sessions.remove(event.world);
+            if (worldSessions == null)
+                return;
+
+            for (HarvestSession session : worldSessions.values())
+                if (session.getFirstHarvested() != null)
+                    session.spawnRemaining(session.getFirstHarvested());
+        }
+    }
 }
@@ -9,15 +9,13 @@ import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
 import tehnut.resourceful.crops.block.BlockResourcefulCrop;
-import tehnut.resourceful.crops.block.tile.TileSeedContainer;
-import tehnut.resourceful.crops.core.ModObjects;
 import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
 
 import java.util.List;
 
@@ -33,7 +31,7 @@ public class CompatibilityWaila implements ICompatibility {
         IWailaDataProvider dataProvider = new IWailaDataProvider() {
             @Override
             public ItemStack getWailaStack(IWailaDataAccessor accessor, IWailaConfigHandler config) {
-                Seed seed = ModObjects.SEEDS.getValue(new ResourceLocation(accessor.getNBTData().getString("seed")));
+                Seed seed = SeedStorage.getSeed(accessor.getWorld(), accessor.getPosition());
                 if (seed == null)
                     return null;
 
@@ -60,12 +58,11 @@ public class CompatibilityWaila implements ICompatibility {
 
             @Override
             public NBTTagCompound getNBTData(EntityPlayerMP player, TileEntity te, NBTTagCompound tag, World world, BlockPos pos) {
-                tag.setString("seed", ((TileSeedContainer) te).getSeedKey().toString());
                 return tag;
             }
         };
 
+        // The seed is already synced to the client, so no NBT provider is needed
         registrar.registerStackProvider(dataProvider, BlockResourcefulCrop.class);
-        registrar.registerNBTProvider(dataProvider, BlockResourcefulCrop.class);
     }
 }
@@ -17,9 +17,9 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.IPlantable;
-import net.minecraftforge.event.ForgeEventFactory;
-import tehnut.resourceful.crops.block.tile.TileSeedContainer;
+import tehnut.resourceful.crops.core.HarvestSession;
 import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
 import tehnut.resourceful.crops.block.BlockResourcefulCrop;
 import tehnut.resourceful.crops.item.ItemResourceful;
 import tehnut.resourceful.crops.item.ItemResourcefulSeed;
@@ -100,12 +100,13 @@ public class ResourcefulFarmer extends PlantableFarmer {
         worldObj.setBlockState(bc, Blocks.AIR.getDefaultState(), 1 | 2);
         IBlockState target = plantable.getPlant(null, bc);
         worldObj.setBlockState(bc, target, 1 | 2);
-        worldObj.setTileEntity(bc, new TileSeedContainer(seed.getRegistryName()));
+        SeedStorage.setSeedKey(worldObj, bc, seed.getRegistryName());
         farm.actionPerformed(false);
         return true;
     }
 
-    // Copied directly from PlantableFarmer. Only one line is changed to use the stack-sensitive plant(...) method.
+    // Crops are replanted in place, so the farm never needs to plant a seed for them. Drops are merged first so the
+    // farm receives as few stacks as possible.
     @Override
     public IHarvestResult harvestBlock(TileFarmStation farm, BlockPos bc, Block block, IBlockState meta) {
         if( !canHarvest(farm, bc, block, meta) ) {
@@ -117,61 +118,27 @@ public class ResourcefulFarmer extends PlantableFarmer {
         }
 
         World worldObj = farm.getWorld();
-        List<EntityItem> result = new ArrayList<EntityItem>();
         final EntityPlayerMP fakePlayer = farm.getFakePlayer();
-        final int fortune = farm.getMaxLootingValue();
-
-        ItemStack removedPlantable = Prep.getEmpty();
+        HarvestSession session = new HarvestSession(worldObj, true);
+        if ( !session.harvest(bc, farm.getMaxLootingValue(), fakePlayer) )
+            return null;
 
-        List<ItemStack> drops = block.getDrops(worldObj, bc, meta, fortune);
-        float chance = ForgeEventFactory.fireBlockHarvesting(drops, worldObj, bc, meta, fortune, 1.0F, false, fakePlayer);
         farm.damageHoe(1, bc);
         farm.actionPerformed(false);
-        if( drops != null ) {
-            for ( ItemStack stack : drops ) {
-                if ( Prep.isValid(stack) && stack.stackSize > 0 && worldObj.rand.nextFloat() <= chance ) {
-                    if ( Prep.isInvalid(removedPlantable) && isPlantableForBlock(stack, block) ) {
-                        removedPlantable = stack.copy();
-                        removedPlantable.stackSize = 1;
-                        stack.stackSize--;
-                        if ( stack.stackSize > 0 ) {
-                            result.add(new EntityItem(worldObj, bc.getX() + 0.5, bc.getY() + 0.5, bc.getZ() + 0.5, stack.copy()));
-                        }
-                    } else {
-                        result.add(new EntityItem(worldObj, bc.getX() + 0.5, bc.getY() + 0.5, bc.getZ() + 0.5, stack.copy()));
-                    }
-                }
-            }
-        }
 
         ItemStack[] inv = fakePlayer.inventory.mainInventory;
         for ( int slot = 0; slot < inv.length; slot++ ) {
             ItemStack stack = inv[slot];
             if ( Prep.isValid(stack) ) {
                 inv[slot] = Prep.getEmpty();
-                result.add(new EntityItem(worldObj, bc.getX() + 0.5, bc.getY() + 1, bc.getZ() + 0.5, stack));
+                session.addDrop(stack);
             }
         }
 
-        if( Prep.isValid(removedPlantable) ) {
-            if( !plant(farm, worldObj, bc, removedPlantable, (IPlantable) removedPlantable.getItem()) ) { // Modified to use stack-sensitive plant(...) method.
-                result.add(new EntityItem(worldObj, bc.getX() + 0.5, bc.getY() + 0.5, bc.getZ() + 0.5, removedPlantable.copy()));
-                worldObj.setBlockState(bc, Blocks.AIR.getDefaultState(), 1 | 2);
-            }
-        } else {
-            worldObj.setBlockState(bc, Blocks.AIR.getDefaultState(), 1 | 2);
-        }
+        List<EntityItem> result = new ArrayList<EntityItem>();
+        for ( ItemStack stack : session.getDrops() )
+            result.add(new EntityItem(worldObj, bc.getX() + 0.5, bc.getY() + 0.5, bc.getZ() + 0.5, stack));
 
         return new HarvestResult(result, bc);
     }
-
-    // Copied directly from PlantableFarmer because it's private.
-    private boolean isPlantableForBlock(ItemStack stack, Block block) {
-        if( !( stack.getItem() instanceof IPlantable ) ) {
-            return false;
-        }
-        IPlantable plantable = (IPlantable) stack.getItem();
-        IBlockState b = plantable.getPlant(null, new BlockPos(0, 0, 0));
-        return b != null && b.getBlock() == block;
-    }
 }
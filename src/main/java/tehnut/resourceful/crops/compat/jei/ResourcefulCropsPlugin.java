@@ -1,5 +1,6 @@
 package tehnut.resourceful.crops.compat.jei;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import mezz.jei.api.BlankModPlugin;
 import mezz.jei.api.IModRegistry;
@@ -8,10 +9,16 @@ import mezz.jei.api.JEIPlugin;
 import mezz.jei.api.recipe.IStackHelper;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.translation.I18n;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.SeedTable;
 import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.recipe.SeedRecipeIndex;
 import tehnut.resourceful.crops.item.ItemResourceful;
 
 import java.util.List;
@@ -25,8 +32,10 @@ public class ResourcefulCropsPlugin extends BlankModPlugin {
     public void register(IModRegistry registry) {
         stackHelper = registry.getJeiHelpers().getStackHelper();
         registry.addRecipeHandlers(new ShapedSeedRecipeHandler());
+        // Seed recipes are not in the crafting manager, only their dispatcher is
+        registry.addRecipes(SeedRecipeIndex.getRecipes());
 
-        for (Seed seed : ModObjects.SEEDS.getValues()) {
+        for (Seed seed : SeedTable.get().getSeeds()) {
             List<String> descriptions = Lists.newArrayList();
             if (seed.getGrowthRequirement().getMinLight() != 7)
                 descriptions.add(I18n.translateToLocalFormatted("jei.resourcefulcrops.seed.info.minlight", MathHelper.clamp(seed.getGrowthRequirement().getMinLight(), 0, 15)));
@@ -37,11 +46,37 @@ public class ResourcefulCropsPlugin extends BlankModPlugin {
                 ItemStack stateStack = new ItemStack(state.getBlock(), 1, state.getBlock().getMetaFromState(state));
                 descriptions.add(I18n.translateToLocalFormatted("jei.resourcefulcrops.seed.info.requiredstate", stateStack.getDisplayName()));
             }
+            if (seed.getGrowthRequirement().getRequiredOre() != null)
+                descriptions.add(I18n.translateToLocalFormatted("jei.resourcefulcrops.seed.info.requiredore", seed.getGrowthRequirement().getRequiredOre()));
+            if (seed.getGrowthRequirement().requiresSky())
+                descriptions.add(I18n.translateToLocal("jei.resourcefulcrops.seed.info.sky"));
+            if (!seed.getGrowthRequirement().getBiomes().isEmpty())
+                descriptions.add(I18n.translateToLocalFormatted("jei.resourcefulcrops.seed.info.biomes", getBiomeNames(seed.getGrowthRequirement().getBiomes())));
+            if (!seed.getGrowthRequirement().getDimensions().isEmpty())
+                descriptions.add(I18n.translateToLocalFormatted("jei.resourcefulcrops.seed.info.dimensions", getDimensionNames(seed.getGrowthRequirement().getDimensions())));
             if (!descriptions.isEmpty())
                 registry.addDescription(ItemResourceful.getResourcefulStack(ModObjects.SEED, seed.getRegistryName()), descriptions.toArray(new String [descriptions.size()]));
         }
     }
 
+    private static String getBiomeNames(List<ResourceLocation> biomes) {
+        List<String> names = Lists.newArrayList();
+        for (ResourceLocation biomeName : biomes) {
+            Biome biome = ForgeRegistries.BIOMES.getValue(biomeName);
+            names.add(biome != null ? biome.getBiomeName() : biomeName.toString());
+        }
+
+        return Joiner.on(", ").join(names);
+    }
+
+    private static String getDimensionNames(List<Integer> dimensions) {
+        List<String> names = Lists.newArrayList();
+        for (int dimension : dimensions)
+            names.add(DimensionManager.isDimensionRegistered(dimension) ? DimensionManager.getProviderType(dimension).getName() : String.valueOf(dimension));
+
+        return Joiner.on(", ").join(names);
+    }
+
     @Override
     public void registerItemSubtypes(ISubtypeRegistry subtypeRegistry) {
         subtypeRegistry.useNbtForSubtypes(ModObjects.SEED, ModObjects.SHARD, ModObjects.POUCH);
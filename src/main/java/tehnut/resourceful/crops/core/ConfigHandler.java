@@ -9,12 +9,16 @@ public class ConfigHandler {
     public static Balance balance = new Balance();
     public static Compatibility compatibility = new Compatibility();
     public static Crafting crafting = new Crafting();
+    public static Growth growth = new Growth();
     public static Miscellaneous miscellaneous = new Miscellaneous();
+    public static Storage storage = new Storage();
     public static World world = new World();
 
     public static class Balance {
         @Config.Comment({"Allows ore to be mined by Quarries and Miners", "Default: true"})
         public boolean enableFakePlayerMining = true;
+        @Config.Comment({"Allows mature crops to be harvested by right clicking them. The crop is replanted in place using one of its seeds.", "Default: true"})
+        public boolean enableRightClickHarvest = true;
     }
 
     public static class Compatibility {
@@ -35,9 +39,29 @@ public class ConfigHandler {
         public String defaultRecipeShape = "chest";
     }
 
+    public static class Growth {
+        @Config.Comment({"Grows crops on a fixed schedule instead of with random ticks. Each stage takes a random time between the min and max stage ticks.", "Seeds can override the stage times in their growth requirement.", "Default: false"})
+        public boolean enableScheduledGrowth = false;
+        @Config.Comment({"The minimum number of ticks a crop spends in each stage when scheduled growth is enabled.", "Default: 1200"})
+        @Config.RangeInt(min = 1)
+        public int minStageTicks = 1200;
+        @Config.Comment({"The maximum number of ticks a crop spends in each stage when scheduled growth is enabled.", "Default: 3600"})
+        @Config.RangeInt(min = 1)
+        public int maxStageTicks = 3600;
+        @Config.Comment({"Grows crops for the time their chunk was unloaded as soon as it loads again, so farms do not need to be chunk loaded.", "Default: true"})
+        public boolean enableCatchUpGrowth = true;
+    }
+
     public static class Miscellaneous {
         @Config.Comment({"Enables extra information being printed to the console.", "Default: false"})
         public boolean debugLogging = false;
+        @Config.Comment({"Watches the seeds directory while a server is running and applies changes to seed files without a restart.", "Changes are sent to connected clients.", "Default: false"})
+        public boolean enableSeedHotReload = false;
+    }
+
+    public static class Storage {
+        @Config.Comment({"Stores planted seeds in a small per-chunk palette instead of creating a tile entity for every crop.", "Existing crops are converted when their chunk is loaded. Requires a restart.", "Default: false"})
+        public boolean useChunkStorage = false;
     }
 
     public static class World {
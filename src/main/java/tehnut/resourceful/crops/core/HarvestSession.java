@@ -0,0 +1,193 @@
+package tehnut.resourceful.crops.core;
+
+import com.google.common.collect.Lists;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.ForgeEventFactory;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import tehnut.resourceful.crops.block.BlockResourcefulCrop;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Harvests many crops at once for automation and merges everything they drop, so a whole field ends up as a handful of
+ * full stacks instead of an item entity per crop.
+ *
+ * Harvest with {@link #harvest(BlockPos, int, EntityPlayer)}, then either take the drops or finish the session with
+ * {@link #insertInto(IItemHandler)} and {@link #spawnRemaining(BlockPos)}.
+ */
+public class HarvestSession {
+
+    private final World world;
+    private final boolean replant;
+    private final List<ItemStack> drops = Lists.newArrayList();
+    @Nullable
+    private BlockPos firstHarvested;
+    private int harvested;
+
+    /**
+     * @param replant - Whether harvested crops are replanted in place with one of their seeds, or broken
+     */
+    public HarvestSession(World world, boolean replant) {
+        this.world = world;
+        this.replant = replant;
+    }
+
+    /**
+     * Harvests a mature crop and adds its drops to the session.
+     *
+     * @return true if the crop was harvested.
+     */
+    public boolean harvest(BlockPos pos, int fortune, @Nullable EntityPlayer player) {
+        if (world.isRemote)
+            return false;
+
+        IBlockState state = world.getBlockState(pos);
+        if (!(state.getBlock() instanceof BlockResourcefulCrop))
+            return false;
+
+        BlockResourcefulCrop crop = (BlockResourcefulCrop) state.getBlock();
+        List<ItemStack> cropDrops;
+        if (replant) {
+            cropDrops = crop.harvestAndReplant(world, pos, state, fortune, player);
+        } else if (crop.isMaxAge(state)) {
+            cropDrops = crop.getDrops(world, pos, state, fortune);
+            float chance = ForgeEventFactory.fireBlockHarvesting(cropDrops, world, pos, state, fortune, 1.0F, false, player);
+            applyDropChance(world, cropDrops, chance);
+            world.setBlockState(pos, Blocks.AIR.getDefaultState(), 3);
+        } else {
+            cropDrops = null;
+        }
+
+        if (cropDrops == null)
+            return false;
+
+        for (ItemStack drop : cropDrops)
+            addDrop(drop);
+
+        if (firstHarvested == null)
+            firstHarvested = pos;
+        harvested++;
+        return true;
+    }
+
+    /**
+     * Merges a stack into the drops of the session. The stack is copied.
+     */
+    public void addDrop(@Nullable ItemStack stack) {
+        if (stack == null || stack.stackSize <= 0)
+            return;
+
+        ItemStack remaining = stack.copy();
+        for (ItemStack drop : drops) {
+            if (!ItemHandlerHelper.canItemStacksStack(drop, remaining))
+                continue;
+
+            int moved = Math.min(remaining.stackSize, drop.getMaxStackSize() - drop.stackSize);
+            drop.stackSize += moved;
+            remaining.stackSize -= moved;
+            if (remaining.stackSize <= 0)
+                return;
+        }
+
+        // Oversized stacks are split so every stack in the session is valid
+        while (remaining.stackSize > remaining.getMaxStackSize())
+            drops.add(remaining.splitStack(remaining.getMaxStackSize()));
+        drops.add(remaining);
+    }
+
+    /**
+     * Inserts as much of the drops as possible into the handler. Whatever does not fit stays in the session.
+     */
+    public void insertInto(IItemHandler handler) {
+        List<ItemStack> remaining = Lists.newArrayListWithCapacity(drops.size());
+        for (ItemStack drop : drops) {
+            ItemStack left = ItemHandlerHelper.insertItemStacked(handler, drop, false);
+            if (left != null && left.stackSize > 0)
+                remaining.add(left);
+        }
+
+        drops.clear();
+        drops.addAll(remaining);
+    }
+
+    /**
+     * Spawns one item entity per merged stack at the given position and empties the session.
+     */
+    public void spawnRemaining(BlockPos pos) {
+        for (ItemStack drop : drops)
+            Block.spawnAsEntity(world, pos, drop);
+        drops.clear();
+    }
+
+    /**
+     * Ends the session by inserting the drops into an item handler next to the given position, if there is one, and
+     * spawning whatever is left there.
+     */
+    public void finish(BlockPos pos) {
+        if (drops.isEmpty())
+            return;
+
+        IItemHandler handler = findAdjacentHandler(world, pos);
+        if (handler != null)
+            insertInto(handler);
+        spawnRemaining(pos);
+    }
+
+    /**
+     * @return the merged drops. Removing them from the list takes them out of the session.
+     */
+    public List<ItemStack> getDrops() {
+        return drops;
+    }
+
+    /**
+     * @return the first crop harvested in this session, or null if none were.
+     */
+    @Nullable
+    public BlockPos getFirstHarvested() {
+        return firstHarvested;
+    }
+
+    public int getHarvested() {
+        return harvested;
+    }
+
+    /**
+     * Removes each drop with the chance of it being kept, as returned by
+     * {@link ForgeEventFactory#fireBlockHarvesting(List, World, BlockPos, IBlockState, int, float, boolean, EntityPlayer)}.
+     */
+    public static void applyDropChance(World world, List<ItemStack> drops, float chance) {
+        if (chance >= 1.0F)
+            return;
+
+        Iterator<ItemStack> iterator = drops.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            if (world.rand.nextFloat() > chance)
+                iterator.remove();
+        }
+    }
+
+    @Nullable
+    public static IItemHandler findAdjacentHandler(World world, BlockPos pos) {
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            TileEntity tile = world.getTileEntity(pos.offset(facing));
+            if (tile != null && tile.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facing.getOpposite()))
+                return tile.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facing.getOpposite());
+        }
+
+        return null;
+    }
+}
@@ -1,7 +1,7 @@
 package tehnut.resourceful.crops.core;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.block.Block;
 import net.minecraft.init.Items;
 import net.minecraft.item.Item;
@@ -19,9 +19,15 @@ import tehnut.resourceful.crops.block.tile.TileSeedContainer;
 import tehnut.resourceful.crops.core.data.Output;
 import tehnut.resourceful.crops.core.data.Seed;
 import tehnut.resourceful.crops.core.data.SeedStack;
+import tehnut.resourceful.crops.core.recipe.SeedRecipeDispatcher;
+import tehnut.resourceful.crops.core.recipe.SeedRecipeIndex;
 import tehnut.resourceful.crops.core.recipe.ShapedSeedRecipe;
 import tehnut.resourceful.crops.item.*;
 import tehnut.resourceful.crops.util.OreGenerator;
+import tehnut.resourceful.crops.util.StartupTimer;
+
+import java.util.List;
+import java.util.Map;
 
 public class ModObjects {
 
@@ -39,6 +45,10 @@ public class ModObjects {
             .setIDRange(0, Short.MAX_VALUE - 2)
             .create();
 
+    // Recipes tracked so they can be replaced when seeds are reloaded
+    private static final Map<ResourceLocation, List<ShapedSeedRecipe>> SEED_RECIPES = Maps.newHashMap();
+    private static final List<ShapedSeedRecipe> TIER_RECIPES = Lists.newArrayList();
+
     public static void preInit() {
         GameRegistry.register(SEED.setRegistryName("seed"));
         GameRegistry.register(POUCH.setRegistryName("pouch"));
@@ -49,12 +59,14 @@ public class ModObjects {
         GameRegistry.register(ORE.setRegistryName("ore"));
         GameRegistry.register(new ItemBlockMulti(ORE, "false", "true").setRegistryName(ORE.getRegistryName()));
 
-        GameRegistry.registerTileEntity(TileSeedContainer.class, ResourcefulCrops.MODID + ":seed_container");
+        GameRegistry.registerTileEntity(TileSeedContainer.class, TileSeedContainer.ID);
     }
 
     // Register all the standard
     public static void init() {
         RecipeSorter.register(ResourcefulCrops.MODID + ":shapedseed", ShapedSeedRecipe.class, RecipeSorter.Category.SHAPED, "");
+        RecipeSorter.register(ResourcefulCrops.MODID + ":seeddispatcher", SeedRecipeDispatcher.class, RecipeSorter.Category.SHAPED, "");
+        GameRegistry.addRecipe(new SeedRecipeDispatcher());
 
         GameRegistry.addSmelting(new ItemStack(ORE), new ItemStack(ESSENCE), 0.5F);
         GameRegistry.addSmelting(new ItemStack(ORE, 1, 1), new ItemStack(ESSENCE), 0.5F);
@@ -66,39 +78,76 @@ public class ModObjects {
 
         GameRegistry.registerWorldGenerator(new OreGenerator(), 1);
 
-        Multimap<Integer, SeedStack> tiers = ArrayListMultimap.create();
-
-        for (Seed seed : SEEDS) {
-            if (ConfigHandler.crafting.enableSeedCrafting)
-                GameRegistry.addRecipe(new ShapedSeedRecipe(new SeedStack(SEED, seed, seed.getCraftAmount()), "MEM", "ESE", "MEM", 'M', seed.getInputItems(), 'E', new ItemStack(ESSENCE, 1, seed.getTier() + 1), 'S', Items.WHEAT_SEEDS));
-            if (ConfigHandler.crafting.enablePouchCrafting)
-                GameRegistry.addRecipe(new ShapedSeedRecipe(new SeedStack(POUCH, seed), "SSS", "SSS", "SSS", 'S', new SeedStack(SEED, seed.getRegistryName())));
-            GameRegistry.addRecipe(new ShapedSeedRecipe(new SeedStack(SEED, seed, 9), "P", 'P', new SeedStack(POUCH, seed)));
-
-            if (ConfigHandler.crafting.enableShardCrafting) {
-                for (Output output : seed.getOutputs()) {
-                    String[] recipe;
-                    if (output.getShape() == Output.Shape.CUSTOM)
-                        recipe = Output.Shape.parseRecipe(output.getShape().name(), output.getCustomFormat());
-                    else if (output.getShape() == Output.Shape.DEFAULT)
-                        recipe = Output.Shape.parseRecipe(output.getShape().getRecipeFormat(), output.getCustomFormat());
-                    else
-                        recipe = output.getShape().getRecipeFormat().split("#", 3);
-                    GameRegistry.addRecipe(new ShapedSeedRecipe(output.getItem(), recipe, 'S', new SeedStack(SHARD, seed)));
-                }
+        long start = StartupTimer.start();
+        for (Seed seed : SeedTable.get().getSeeds())
+            registerSeedRecipes(seed);
+        StartupTimer.end("init.recipes.seeds", start);
+        for (List<ShapedSeedRecipe> recipes : SEED_RECIPES.values())
+            StartupTimer.count("seedRecipes", recipes.size());
+
+        GameRegistry.addRecipe(new ShapedOreRecipe(STONE, "EEE", "EDE", "EEE", 'E', ESSENCE, 'D', "gemDiamond"));
+        start = StartupTimer.start();
+        registerTierRecipes();
+        StartupTimer.end("init.recipes.tiers", start);
+        StartupTimer.count("tierRecipes", TIER_RECIPES.size());
+    }
+
+    /**
+     * Registers the crafting recipes for a single seed, replacing any registered for it before.
+     */
+    public static void registerSeedRecipes(Seed seed) {
+        removeSeedRecipes(seed.getRegistryName());
+
+        List<ShapedSeedRecipe> recipes = Lists.newArrayList();
+        if (ConfigHandler.crafting.enableSeedCrafting)
+            recipes.add(new ShapedSeedRecipe(new SeedStack(SEED, seed, seed.getCraftAmount()), "MEM", "ESE", "MEM", 'M', seed.getOreName() != null ? seed.getOreName() : seed.getInputItems(), 'E', new ItemStack(ESSENCE, 1, seed.getTier() + 1), 'S', Items.WHEAT_SEEDS));
+        if (ConfigHandler.crafting.enablePouchCrafting)
+            recipes.add(new ShapedSeedRecipe(new SeedStack(POUCH, seed), "SSS", "SSS", "SSS", 'S', new SeedStack(SEED, seed.getRegistryName())));
+        recipes.add(new ShapedSeedRecipe(new SeedStack(SEED, seed, 9), "P", 'P', new SeedStack(POUCH, seed)));
+
+        if (ConfigHandler.crafting.enableShardCrafting) {
+            for (Output output : seed.getOutputs()) {
+                String[] recipe;
+                if (output.getShape() == Output.Shape.CUSTOM)
+                    recipe = Output.Shape.parseRecipe(output.getShape().name(), output.getCustomFormat());
+                else if (output.getShape() == Output.Shape.DEFAULT)
+                    recipe = Output.Shape.parseRecipe(output.getShape().getRecipeFormat(), output.getCustomFormat());
+                else
+                    recipe = output.getShape().getRecipeFormat().split("#", 3);
+                recipes.add(new ShapedSeedRecipe(output.getItem(), recipe, 'S', new SeedStack(SHARD, seed)));
             }
-            // Collect seeds based on Tier for stone upgrades
-            tiers.put(seed.getTier(), new SeedStack(SHARD, seed));
         }
 
-        GameRegistry.addRecipe(new ShapedOreRecipe(STONE, "EEE", "EDE", "EEE", 'E', ESSENCE, 'D', "gemDiamond"));
-        if (!tiers.get(0).isEmpty())
-            GameRegistry.addRecipe(new ShapedSeedRecipe(new ItemStack(STONE, 1, 1), "MMM", "MSM", "MMM", 'M', tiers.get(0), 'S', new ItemStack(STONE, 1, 0)));
-        if (!tiers.get(1).isEmpty())
-            GameRegistry.addRecipe(new ShapedSeedRecipe(new ItemStack(STONE, 1, 2), "MMM", "MSM", "MMM", 'M', tiers.get(1), 'S', new ItemStack(STONE, 1, 1)));
-        if (!tiers.get(2).isEmpty())
-            GameRegistry.addRecipe(new ShapedSeedRecipe(new ItemStack(STONE, 1, 3), "MMM", "MSM", "MMM", 'M', tiers.get(2), 'S', new ItemStack(STONE, 1, 2)));
-        if (!tiers.get(3).isEmpty())
-            GameRegistry.addRecipe(new ShapedSeedRecipe(new ItemStack(STONE, 1, 4), "MMM", "MSM", "MMM", 'M', tiers.get(3), 'S', new ItemStack(STONE, 1, 3)));
+        SeedRecipeIndex.add(recipes);
+        SEED_RECIPES.put(seed.getRegistryName(), recipes);
+    }
+
+    public static void removeSeedRecipes(ResourceLocation seedKey) {
+        List<ShapedSeedRecipe> recipes = SEED_RECIPES.remove(seedKey);
+        if (recipes != null)
+            SeedRecipeIndex.remove(recipes);
+    }
+
+    /**
+     * Registers the Earth Stone upgrade recipes, which use the shards of every seed in a tier. Replaces any registered
+     * before.
+     */
+    public static void registerTierRecipes() {
+        SeedRecipeIndex.remove(TIER_RECIPES);
+        TIER_RECIPES.clear();
+
+        SeedTable seedTable = SeedTable.get();
+        for (int tier = 0; tier < 4; tier++) {
+            List<Seed> tierSeeds = seedTable.getTier(tier);
+            if (tierSeeds.isEmpty())
+                continue;
+
+            List<SeedStack> shards = Lists.newArrayListWithCapacity(tierSeeds.size());
+            for (Seed seed : tierSeeds)
+                shards.add(new SeedStack(SHARD, seed));
+            TIER_RECIPES.add(new ShapedSeedRecipe(new ItemStack(STONE, 1, tier + 1), "MMM", "MSM", "MMM", 'M', shards, 'S', new ItemStack(STONE, 1, tier)));
+        }
+
+        SeedRecipeIndex.add(TIER_RECIPES);
     }
 }
@@ -0,0 +1,265 @@
+package tehnut.resourceful.crops.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import org.apache.commons.io.IOUtils;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.data.GrowthRequirement;
+import tehnut.resourceful.crops.core.data.Output;
+import tehnut.resourceful.crops.core.data.Seed;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compressed NBT copy of the parsed seed JSONs, so unchanged seed directories can be loaded without touching Gson or
+ * {@link net.minecraft.nbt.JsonToNBT}.
+ *
+ * The cache stores a hash of every seed file along with the loaded mods and their versions. If either changes, or the
+ * cache cannot be read, {@link #read(File, String)} returns null and the seeds are parsed from JSON again.
+ */
+public class SeedCache {
+
+    private static final int FORMAT = 4;
+
+    /**
+     * Hashes the name and contents of every file along with the current mod list.
+     */
+    public static String computeHash(File[] files) throws IOException {
+        File[] sorted = files.clone();
+        Arrays.sort(sorted, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                return file1.getName().compareTo(file2.getName());
+            }
+        });
+
+        Hasher hasher = Hashing.sha1().newHasher();
+        hasher.putInt(FORMAT);
+        for (File file : sorted) {
+            hasher.putString(file.getName(), Charsets.UTF_8);
+            hasher.putBytes(Files.toByteArray(file));
+        }
+
+        for (ModContainer mod : Loader.instance().getActiveModList()) {
+            hasher.putString(mod.getModId(), Charsets.UTF_8);
+            hasher.putString(mod.getVersion(), Charsets.UTF_8);
+        }
+
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @return the cached seeds keyed by the file they came from, or null if the cache is missing, stale or unreadable.
+     */
+    @Nullable
+    public static Map<String, Seed> read(File cacheFile, String hash) {
+        if (!cacheFile.exists())
+            return null;
+
+        InputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(cacheFile);
+            NBTTagCompound tag = CompressedStreamTools.readCompressed(inputStream);
+            if (tag.getInteger("format") != FORMAT || !hash.equals(tag.getString("hash"))) {
+                ResourcefulCrops.debug("Seed cache is out of date");
+                return null;
+            }
+
+            Map<String, Seed> seeds = Maps.newLinkedHashMap();
+            NBTTagList seedList = tag.getTagList("seeds", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < seedList.tagCount(); i++) {
+                NBTTagCompound seedTag = seedList.getCompoundTagAt(i);
+                seeds.put(seedTag.getString("file"), readSeed(seedTag));
+            }
+
+            return seeds;
+        } catch (Exception e) {
+            ResourcefulCrops.LOGGER.warn("Unable to read the seed cache, seeds will be parsed from JSON: {}", e.getLocalizedMessage());
+            return null;
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+
+    public static void write(File cacheFile, String hash, Map<String, Seed> seeds) {
+        OutputStream outputStream = null;
+        try {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("format", FORMAT);
+            tag.setString("hash", hash);
+            NBTTagList seedList = new NBTTagList();
+            for (Map.Entry<String, Seed> entry : seeds.entrySet()) {
+                NBTTagCompound seedTag = writeSeed(entry.getValue());
+                seedTag.setString("file", entry.getKey());
+                seedList.appendTag(seedTag);
+            }
+            tag.setTag("seeds", seedList);
+
+            outputStream = new FileOutputStream(cacheFile);
+            CompressedStreamTools.writeCompressed(tag, outputStream);
+        } catch (Exception e) {
+            ResourcefulCrops.LOGGER.warn("Unable to write the seed cache: {}", e.getLocalizedMessage());
+            // Never leave a partially written cache behind
+            IOUtils.closeQuietly(outputStream);
+            cacheFile.delete();
+        } finally {
+            IOUtils.closeQuietly(outputStream);
+        }
+    }
+
+    private static NBTTagCompound writeSeed(Seed seed) {
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setString("name", seed.getName());
+        tag.setInteger("tier", seed.getTier());
+        tag.setInteger("craftAmount", seed.getCraftAmount());
+        tag.setInteger("color", seed.getColor());
+        NBTTagCompound tintTag = new NBTTagCompound();
+        for (Seed.Part part : Seed.Part.values())
+            if (seed.getTintColors(part) != null)
+                tintTag.setIntArray(part.name(), seed.getTintColors(part));
+        if (!tintTag.hasNoTags())
+            tag.setTag("tintColors", tintTag);
+        if (seed.getOreName() != null)
+            tag.setString("ore", seed.getOreName());
+        else
+            tag.setTag("inputs", writeStacks(seed.getInputItems()));
+
+        NBTTagList outputList = new NBTTagList();
+        for (Output output : seed.getOutputs()) {
+            NBTTagCompound outputTag = new NBTTagCompound();
+            outputTag.setTag("item", writeStack(output.getItem()));
+            outputTag.setString("shape", output.getShape().name());
+            if (output.getCustomFormat() != null)
+                outputTag.setString("customFormat", output.getCustomFormat());
+            outputList.appendTag(outputTag);
+        }
+        tag.setTag("outputs", outputList);
+
+        GrowthRequirement growthRequirement = seed.getGrowthRequirement();
+        NBTTagCompound growthTag = new NBTTagCompound();
+        growthTag.setInteger("minLight", growthRequirement.getMinLight());
+        growthTag.setInteger("maxLight", growthRequirement.getMaxLight());
+        if (growthRequirement.getRequiredState() != null) {
+            IBlockState state = growthRequirement.getRequiredState();
+            growthTag.setString("state", state.getBlock().getRegistryName().toString());
+            growthTag.setInteger("stateMeta", state.getBlock().getMetaFromState(state));
+        }
+        if (growthRequirement.getRequiredOre() != null)
+            growthTag.setString("ore", growthRequirement.getRequiredOre());
+        NBTTagList biomeList = new NBTTagList();
+        for (ResourceLocation biome : growthRequirement.getBiomes())
+            biomeList.appendTag(new NBTTagString(biome.toString()));
+        growthTag.setTag("biomes", biomeList);
+        int[] dimensions = new int[growthRequirement.getDimensions().size()];
+        for (int i = 0; i < dimensions.length; i++)
+            dimensions[i] = growthRequirement.getDimensions().get(i);
+        growthTag.setIntArray("dimensions", dimensions);
+        growthTag.setBoolean("sky", growthRequirement.requiresSky());
+        growthTag.setInteger("minStageTicks", growthRequirement.getMinStageTicksOverride());
+        growthTag.setInteger("maxStageTicks", growthRequirement.getMaxStageTicksOverride());
+        tag.setTag("growthRequirement", growthTag);
+
+        return tag;
+    }
+
+    private static Seed readSeed(NBTTagCompound tag) throws IOException {
+        List<ItemStack> inputItems;
+        String oreName = null;
+        if (tag.hasKey("ore")) {
+            oreName = tag.getString("ore");
+            inputItems = Collections.emptyList();
+        } else {
+            inputItems = readStacks(tag.getTagList("inputs", Constants.NBT.TAG_COMPOUND));
+        }
+
+        NBTTagList outputList = tag.getTagList("outputs", Constants.NBT.TAG_COMPOUND);
+        Output[] outputs = new Output[outputList.tagCount()];
+        for (int i = 0; i < outputs.length; i++) {
+            NBTTagCompound outputTag = outputList.getCompoundTagAt(i);
+            String customFormat = outputTag.hasKey("customFormat") ? outputTag.getString("customFormat") : null;
+            outputs[i] = new Output(readStack(outputTag.getCompoundTag("item")), Output.Shape.valueOf(outputTag.getString("shape")), customFormat);
+        }
+
+        NBTTagCompound growthTag = tag.getCompoundTag("growthRequirement");
+        IBlockState requiredState = null;
+        if (growthTag.hasKey("state")) {
+            Block block = ForgeRegistries.BLOCKS.getValue(new ResourceLocation(growthTag.getString("state")));
+            if (block == null)
+                throw new IOException("Unknown block " + growthTag.getString("state"));
+            requiredState = block.getStateFromMeta(growthTag.getInteger("stateMeta"));
+        }
+        List<ResourceLocation> biomes = Lists.newArrayList();
+        NBTTagList biomeList = growthTag.getTagList("biomes", Constants.NBT.TAG_STRING);
+        for (int i = 0; i < biomeList.tagCount(); i++)
+            biomes.add(new ResourceLocation(biomeList.getStringTagAt(i)));
+        List<Integer> dimensions = Lists.newArrayList();
+        for (int dimension : growthTag.getIntArray("dimensions"))
+            dimensions.add(dimension);
+        String requiredOre = growthTag.hasKey("ore") ? growthTag.getString("ore") : null;
+        GrowthRequirement growthRequirement = new GrowthRequirement(growthTag.getInteger("minLight"), growthTag.getInteger("maxLight"), requiredState, requiredOre, biomes, dimensions, growthTag.getBoolean("sky"), growthTag.getInteger("minStageTicks"), growthTag.getInteger("maxStageTicks"));
+
+        Seed seed = new Seed(tag.getString("name"), tag.getInteger("tier"), tag.getInteger("craftAmount"), tag.getInteger("color"), inputItems, outputs, growthRequirement);
+        seed.setOreName(oreName);
+        NBTTagCompound tintTag = tag.getCompoundTag("tintColors");
+        for (Seed.Part part : Seed.Part.values())
+            if (tintTag.hasKey(part.name()))
+                seed.setTintColors(part, tintTag.getIntArray(part.name()));
+        return seed;
+    }
+
+    private static NBTTagList writeStacks(List<ItemStack> stacks) {
+        NBTTagList stackList = new NBTTagList();
+        for (ItemStack stack : stacks)
+            stackList.appendTag(writeStack(stack));
+        return stackList;
+    }
+
+    private static List<ItemStack> readStacks(NBTTagList stackList) throws IOException {
+        List<ItemStack> stacks = Lists.newArrayList();
+        for (int i = 0; i < stackList.tagCount(); i++)
+            stacks.add(readStack(stackList.getCompoundTagAt(i)));
+        return stacks;
+    }
+
+    private static NBTTagCompound writeStack(ItemStack stack) {
+        if (stack == null || stack.getItem() == null)
+            throw new IllegalArgumentException("Seeds with missing items cannot be cached");
+
+        return stack.writeToNBT(new NBTTagCompound());
+    }
+
+    // Items that no longer exist make the whole cache stale
+    private static ItemStack readStack(NBTTagCompound tag) throws IOException {
+        ItemStack stack = ItemStack.loadItemStackFromNBT(tag);
+        if (stack == null)
+            throw new IOException("Unknown item " + tag.getString("id"));
+        return stack;
+    }
+}
@@ -1,71 +1,109 @@
 package tehnut.resourceful.crops.core;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.gson.Gson;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.ModContainer;
 import net.minecraftforge.fml.common.registry.GameRegistry;
 import net.minecraftforge.oredict.OreDictionary;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import tehnut.resourceful.crops.ResourcefulCrops;
 import tehnut.resourceful.crops.core.data.Output;
 import tehnut.resourceful.crops.core.data.Seed;
 import tehnut.resourceful.crops.core.json.Serializers;
+import tehnut.resourceful.crops.util.StartupTimer;
 import tehnut.resourceful.crops.util.Util;
 
 import javax.annotation.Nullable;
-import java.awt.*;
-import java.io.File;
-import java.io.FileFilter;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 public class SeedLoader {
 
+    // Tier first, then name, so registration order does not depend on the file system
+    private static final Comparator<Seed> SEED_ORDER = new Comparator<Seed>() {
+        @Override
+        public int compare(Seed seed1, Seed seed2) {
+            int tierCompare = ((Integer) seed1.getTier()).compareTo(seed2.getTier());
+            return tierCompare != 0 ? tierCompare : seed1.getName().compareTo(seed2.getName());
+        }
+    };
+
+    // The key of the seed each file defines, so the reloader knows what a deleted or renamed file removes
+    private static final Map<String, ResourceLocation> FILE_KEYS = Maps.newHashMap();
+    // The winning pack or mod definition of each seed, restored by the reloader when a loose file overriding it is deleted
+    private static final Map<ResourceLocation, Seed> PACK_SEEDS = Maps.newHashMap();
+
+    // Seeds inside mods live at assets/<modid>/resourcefulcrops/seeds
+    private static final String MOD_PACK_PATH = ResourcefulCrops.MODID + "/seeds";
+    private static final Pattern MOD_PACK_ENTRY = Pattern.compile("assets/[^/]+/" + MOD_PACK_PATH + "/[^/]+\\.json");
+    private static final Pattern PACK_ENTRY = Pattern.compile(".+\\.json");
+    private static final String PACK_SEPARATOR = "!/";
+
     public static void init(File seedDir) {
         Gson gson = Serializers.withAll();
-        if (!seedDir.exists() && seedDir.mkdirs()) {
-            for (Seed seed : getDefaults()) {
-                String json = gson.toJson(seed);
-                try {
-                    FileWriter fileWriter = new FileWriter(new File(seedDir, Util.cleanString(seed.getName()) + ".json"));
-                    fileWriter.write(json);
-                    fileWriter.close();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+        List<File> modPacks = findModPacks();
 
-                GameRegistry.register(seed.setRegistryName(Util.cleanString(seed.getName())));
-            }
-
-            return;
+        // Sources in order of precedence, lowest first: packs inside mods in load order, then zip packs in the seed
+        // directory by name, then loose files. A seed defined again later replaces the earlier definition.
+        Map<String, Seed> seeds;
+        if (!seedDir.exists() && seedDir.mkdirs()) {
+            seeds = parseSeeds(gson, modPacks, new File[0], new File[0]);
+            seeds.values().removeAll(Collections.singleton(null));
+            seeds.putAll(writeDefaults(gson, seedDir));
+        } else {
+            File[] packFiles = listSorted(seedDir, FileFilterUtils.suffixFileFilter(".zip"));
+            File[] jsonFiles = listSorted(seedDir, FileFilterUtils.suffixFileFilter(".json"));
+            seeds = loadSeeds(gson, seedDir, modPacks, packFiles, jsonFiles);
         }
 
-        File[] jsonFiles = seedDir.listFiles((FileFilter) FileFilterUtils.suffixFileFilter(".json"));
-        if (jsonFiles == null)
-            return;
+        // Resolve overrides by seed key, keeping the last definition of each
+        Map<ResourceLocation, Map.Entry<String, Seed>> resolved = Maps.newHashMap();
+        Map<ResourceLocation, Seed> packSeeds = Maps.newHashMap();
+        for (Map.Entry<String, Seed> entry : seeds.entrySet()) {
+            ResourceLocation seedKey = getSeedKey(entry.getValue());
+            // Registry names can only be set once, so every parsed seed gets its name here and nowhere else
+            entry.getValue().setRegistryName(seedKey);
+            Map.Entry<String, Seed> replaced = resolved.put(seedKey, entry);
+            if (replaced != null)
+                ResourcefulCrops.LOGGER.info("Seed {} from {} replaces the one from {}", seedKey, entry.getKey(), replaced.getKey());
+            if (entry.getKey().contains(PACK_SEPARATOR))
+                packSeeds.put(seedKey, entry.getValue());
+        }
 
-        List<Seed> seeds = Lists.newArrayList();
-        for (File jsonFile : jsonFiles) {
-            try {
-                Seed seed = gson.fromJson(new FileReader(jsonFile), Seed.class);
-                seeds.add(seed.setRegistryName(Util.cleanString(seed.getName())));
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+        for (Map.Entry<ResourceLocation, Seed> entry : packSeeds.entrySet()) {
+            if (Strings.isNullOrEmpty(sanityCheck(entry.getValue())))
+                PACK_SEEDS.put(entry.getKey(), entry.getValue());
         }
 
-        Collections.sort(seeds, new Comparator<Seed>() {
+        long start = StartupTimer.start();
+        List<Map.Entry<String, Seed>> sorted = Lists.newArrayList(resolved.values());
+        Collections.sort(sorted, new Comparator<Map.Entry<String, Seed>>() {
             @Override
-            public int compare(Seed seed1, Seed seed2) {
-                return ((Integer) seed1.getTier()).compareTo(seed2.getTier());
+            public int compare(Map.Entry<String, Seed> entry1, Map.Entry<String, Seed> entry2) {
+                return SEED_ORDER.compare(entry1.getValue(), entry2.getValue());
             }
         });
 
-        for (Seed seed : seeds) {
+        for (Map.Entry<String, Seed> entry : sorted) {
+            Seed seed = entry.getValue();
             String sanity = sanityCheck(seed);
             if (!Strings.isNullOrEmpty(sanity)) {
                 ResourcefulCrops.LOGGER.error(sanity);
@@ -73,79 +111,309 @@ public class SeedLoader {
             }
 
             GameRegistry.register(seed);
+            // Only loose files can be reloaded
+            if (!entry.getKey().contains(PACK_SEPARATOR))
+                FILE_KEYS.put(entry.getKey(), seed.getRegistryName());
+            StartupTimer.count("seedsLoaded", 1);
+            if (seed.getOreName() != null)
+                StartupTimer.count("oreSeeds", 1);
+        }
+        StartupTimer.end("init.seeds.register", start);
+    }
+
+    // Reads the seeds from the cache if nothing has changed, otherwise parses them and updates the cache
+    private static Map<String, Seed> loadSeeds(Gson gson, File seedDir, List<File> modPacks, File[] packFiles, File[] jsonFiles) {
+        StartupTimer.count("seedFiles", jsonFiles.length);
+        StartupTimer.count("seedPacks", modPacks.size() + packFiles.length);
+        long start = StartupTimer.start();
+        File cacheFile = new File(seedDir.getParentFile(), "seeds.cache");
+        String hash = null;
+        Map<String, Seed> seeds = null;
+        try {
+            // Packs inside mod jars are covered by the mod versions, but mods loaded from a directory can change freely
+            List<File> hashed = Lists.newArrayList(packFiles);
+            for (File modPack : modPacks)
+                if (modPack.isDirectory())
+                    hashed.addAll(listModDirectory(modPack).values());
+            hashed.addAll(Arrays.asList(jsonFiles));
+            hash = SeedCache.computeHash(hashed.toArray(new File[hashed.size()]));
+            StartupTimer.end("init.seeds.hash", start);
+            start = StartupTimer.start();
+            seeds = SeedCache.read(cacheFile, hash);
+        } catch (IOException e) {
+            ResourcefulCrops.LOGGER.warn("Unable to hash the seed directory, the seed cache will not be used: {}", e.getLocalizedMessage());
+        }
+
+        if (seeds != null) {
+            StartupTimer.end("init.seeds.cacheRead", start);
+            StartupTimer.count("seedsFromCache", seeds.size());
+            return seeds;
+        }
+
+        seeds = parseSeeds(gson, modPacks, packFiles, jsonFiles);
+        StartupTimer.end("init.seeds.parse", start);
+        // Files that failed to parse should report their errors again next launch
+        if (!seeds.containsValue(null)) {
+            StartupTimer.count("seedsParsed", seeds.size());
+            if (hash != null) {
+                start = StartupTimer.start();
+                SeedCache.write(cacheFile, hash, seeds);
+                StartupTimer.end("init.seeds.cacheWrite", start);
+            }
+            return seeds;
+        }
+
+        seeds.values().removeAll(Collections.singleton(null));
+        StartupTimer.count("seedsParsed", seeds.size());
+        return seeds;
+    }
+
+    /**
+     * Parses every source on a fork-join pool, one task per file or archive. Registration stays on the calling thread.
+     *
+     * @return the seeds keyed by where they came from, in order of precedence. Sources that failed to parse map to
+     * null.
+     */
+    private static Map<String, Seed> parseSeeds(final Gson gson, List<File> modPacks, File[] packFiles, File[] jsonFiles) {
+        List<Callable<Map<String, Seed>>> tasks = Lists.newArrayList();
+        for (final File modPack : modPacks) {
+            tasks.add(new Callable<Map<String, Seed>>() {
+                @Override
+                public Map<String, Seed> call() {
+                    return modPack.isDirectory() ? parseModDirectory(gson, modPack) : parseArchive(gson, modPack, MOD_PACK_ENTRY);
+                }
+            });
+        }
+        for (final File packFile : packFiles) {
+            tasks.add(new Callable<Map<String, Seed>>() {
+                @Override
+                public Map<String, Seed> call() {
+                    return parseArchive(gson, packFile, PACK_ENTRY);
+                }
+            });
+        }
+        for (final File jsonFile : jsonFiles) {
+            tasks.add(new Callable<Map<String, Seed>>() {
+                @Override
+                public Map<String, Seed> call() {
+                    return Collections.singletonMap(jsonFile.getName(), parseSeed(gson, jsonFile));
+                }
+            });
+        }
+
+        Map<String, Seed> seeds = Maps.newLinkedHashMap();
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            for (Future<Map<String, Seed>> future : pool.invokeAll(tasks))
+                seeds.putAll(future.get());
+        } catch (Exception e) {
+            ResourcefulCrops.LOGGER.error("Error while parsing seed files");
+            e.printStackTrace();
+        } finally {
+            pool.shutdown();
+        }
+
+        return seeds;
+    }
+
+    /**
+     * Makes a single pass over the central directory of an archive and streams every matching entry.
+     */
+    private static Map<String, Seed> parseArchive(Gson gson, File archive, Pattern entryPattern) {
+        Map<String, Seed> seeds = Maps.newLinkedHashMap();
+        ZipFile zipFile = null;
+        try {
+            zipFile = new ZipFile(archive);
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory() || !entryPattern.matcher(entry.getName()).matches())
+                    continue;
+
+                String source = archive.getName() + PACK_SEPARATOR + entry.getName();
+                seeds.put(source, parseSeed(gson, source, zipFile.getInputStream(entry)));
+            }
+        } catch (IOException e) {
+            ResourcefulCrops.LOGGER.error("Error reading seed pack {}: {}", archive.getName(), e.getLocalizedMessage());
+            seeds.put(archive.getName(), null);
+        } finally {
+            IOUtils.closeQuietly(zipFile);
+        }
+
+        return seeds;
+    }
+
+    // Mods loaded from a directory, mostly in development environments
+    private static Map<String, Seed> parseModDirectory(Gson gson, File modDir) {
+        Map<String, Seed> seeds = Maps.newLinkedHashMap();
+        for (Map.Entry<String, File> entry : listModDirectory(modDir).entrySet()) {
+            String source = entry.getKey();
+            try {
+                seeds.put(source, parseSeed(gson, source, new FileInputStream(entry.getValue())));
+            } catch (IOException e) {
+                ResourcefulCrops.LOGGER.error("Error reading seed file {}: {}", source, e.getLocalizedMessage());
+                seeds.put(source, null);
+            }
+        }
+
+        return seeds;
+    }
+
+    // The seed files of a mod loaded from a directory, keyed by source
+    private static Map<String, File> listModDirectory(File modDir) {
+        Map<String, File> files = Maps.newLinkedHashMap();
+        for (File domainDir : listSorted(new File(modDir, "assets"), DirectoryFileFilter.INSTANCE)) {
+            File seedDir = new File(domainDir, MOD_PACK_PATH);
+            for (File jsonFile : listSorted(seedDir, FileFilterUtils.suffixFileFilter(".json")))
+                files.put(modDir.getName() + PACK_SEPARATOR + "assets/" + domainDir.getName() + "/" + MOD_PACK_PATH + "/" + jsonFile.getName(), jsonFile);
+        }
+
+        return files;
+    }
+
+    // Every mod source that might contain seeds, in load order. Several mods can share one source.
+    private static List<File> findModPacks() {
+        Set<File> modPacks = Sets.newLinkedHashSet();
+        for (ModContainer mod : Loader.instance().getActiveModList()) {
+            File source = mod.getSource();
+            if (source != null && (source.isFile() ? source.getName().endsWith(".jar") || source.getName().endsWith(".zip") : new File(source, "assets").isDirectory()))
+                modPacks.add(source);
+        }
+
+        return Lists.newArrayList(modPacks);
+    }
+
+    private static Map<String, Seed> writeDefaults(Gson gson, File seedDir) {
+        List<Seed> defaultSeeds = Lists.newArrayList(getDefaults());
+        Collections.sort(defaultSeeds, SEED_ORDER);
+        Map<String, Seed> seeds = Maps.newLinkedHashMap();
+        for (Seed seed : defaultSeeds) {
+            String json = gson.toJson(seed);
+            FileWriter fileWriter = null;
+            try {
+                fileWriter = new FileWriter(new File(seedDir, getFileName(seed)));
+                fileWriter.write(json);
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                IOUtils.closeQuietly(fileWriter);
+            }
+
+            seeds.put(getFileName(seed), seed);
+        }
+
+        return seeds;
+    }
+
+    private static File[] listSorted(File dir, FileFilter filter) {
+        File[] files = dir.listFiles(filter);
+        if (files == null)
+            return new File[0];
+
+        Arrays.sort(files);
+        return files;
+    }
+
+    @Nullable
+    static Seed parseSeed(Gson gson, File jsonFile) {
+        try {
+            return parseSeed(gson, jsonFile.getName(), new FileInputStream(jsonFile));
+        } catch (IOException e) {
+            ResourcefulCrops.LOGGER.error("Error reading seed file {}: {}", jsonFile.getName(), e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    // Closes the stream once done
+    @Nullable
+    private static Seed parseSeed(Gson gson, String source, InputStream inputStream) {
+        long start = System.nanoTime();
+        Reader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(inputStream, Charsets.UTF_8));
+            Seed seed = gson.fromJson(reader, Seed.class);
+            ResourcefulCrops.debug("Parsed {} in {}ms", source, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return seed;
+        } catch (Exception e) {
+            ResourcefulCrops.LOGGER.error("Error parsing seed file {}", source);
+            e.printStackTrace();
+            return null;
+        } finally {
+            IOUtils.closeQuietly(reader);
+            IOUtils.closeQuietly(inputStream);
         }
     }
 
     private static Set<Seed> getDefaults() {
         Set<Seed> defaultSeeds = new HashSet<Seed>();
         // Tier 1
-        addSeed(defaultSeeds, "inky", 0, 4, new Color(22, 22, 22), "dyeBlack", 8);
-        addSeed(defaultSeeds, "rotting", 0, 4, new Color(255, 160, 136), new ItemStack(Items.ROTTEN_FLESH), 8);
-        addSeed(defaultSeeds, "feathery", 0, 4, new Color(208, 203, 199), new ItemStack(Items.FEATHER), 8);
+        addSeed(defaultSeeds, "inky", 0, 4, 0x161616, "dyeBlack", 8);
+        addSeed(defaultSeeds, "rotting", 0, 4, 0xFFA088, new ItemStack(Items.ROTTEN_FLESH), 8);
+        addSeed(defaultSeeds, "feathery", 0, 4, 0xD0CBC7, new ItemStack(Items.FEATHER), 8);
         // Tier 2
-        addSeed(defaultSeeds, "tin", 1, 4, new Color(135, 154, 168), "ingotTin", 4);
-        addSeed(defaultSeeds, "copper", 1, 4, new Color(204, 102, 51), "ingotCopper", 4);
-        addSeed(defaultSeeds, "aluminum", 1, 4, new Color(198, 206, 130), "ingotAluminum", 4);
-        addSeed(defaultSeeds, "zinc", 1, 4, new Color(192, 176, 182), "ingotZinc", 4);
-        addSeed(defaultSeeds, "coal", 1, 4, new Color(45, 44, 47), new ItemStack(Items.COAL), 4);
-        addSeed(defaultSeeds, "charcoal", 1, 4, new Color(45, 44, 47), new ItemStack(Items.COAL, 1, 1), 4);
-        addSeed(defaultSeeds, "saltpeter", 1, 4, new Color(182, 197, 212), "dustSaltpeter", 8);
-        addSeed(defaultSeeds, "salty", 1, 4, new Color(182, 197, 212), "dustSalt", 8);
-        addSeed(defaultSeeds, "leathery", 1, 4, new Color(255, 68, 17), new ItemStack(Items.LEATHER), 4);
-        addSeed(defaultSeeds, "stringy", 1, 4, new Color(241, 255, 210), new ItemStack(Items.STRING), 8);
-        addSeed(defaultSeeds, "boney", 1, 4, new Color(255, 240, 205), new ItemStack(Items.BONE), 4);
-        addSeed(defaultSeeds, "slimy", 1, 4, new Color(62, 255, 119), new ItemStack(Items.SLIME_BALL), 4);
+        addSeed(defaultSeeds, "tin", 1, 4, 0x879AA8, "ingotTin", 4);
+        addSeed(defaultSeeds, "copper", 1, 4, 0xCC6633, "ingotCopper", 4);
+        addSeed(defaultSeeds, "aluminum", 1, 4, 0xC6CE82, "ingotAluminum", 4);
+        addSeed(defaultSeeds, "zinc", 1, 4, 0xC0B0B6, "ingotZinc", 4);
+        addSeed(defaultSeeds, "coal", 1, 4, 0x2D2C2F, new ItemStack(Items.COAL), 4);
+        addSeed(defaultSeeds, "charcoal", 1, 4, 0x2D2C2F, new ItemStack(Items.COAL, 1, 1), 4);
+        addSeed(defaultSeeds, "saltpeter", 1, 4, 0xB6C5D4, "dustSaltpeter", 8);
+        addSeed(defaultSeeds, "salty", 1, 4, 0xB6C5D4, "dustSalt", 8);
+        addSeed(defaultSeeds, "leathery", 1, 4, 0xFF4411, new ItemStack(Items.LEATHER), 4);
+        addSeed(defaultSeeds, "stringy", 1, 4, 0xF1FFD2, new ItemStack(Items.STRING), 8);
+        addSeed(defaultSeeds, "boney", 1, 4, 0xFFF0CD, new ItemStack(Items.BONE), 4);
+        addSeed(defaultSeeds, "slimy", 1, 4, 0x3EFF77, new ItemStack(Items.SLIME_BALL), 4);
         // Tier 3
-        addSeed(defaultSeeds, "blazing", 2, 4, new Color(255, 215, 66), new ItemStack(Items.BLAZE_ROD), 2);
-        addSeed(defaultSeeds, "ferrous", 2, 4, new Color(159, 156, 160), "ingotIron", 4);
-        addSeed(defaultSeeds, "golden", 2, 4, new Color(255, 255, 0), "ingotGold", 4);
-        addSeed(defaultSeeds, "lead", 2, 4, new Color(102, 102, 153), "ingotLead", 4);
-        addSeed(defaultSeeds, "silver", 2, 4, new Color(187, 189, 184), "ingotSilver", 4);
-        addSeed(defaultSeeds, "nickel", 2, 4, new Color(204, 204, 204), "ingotNickel", 4);
-        addSeed(defaultSeeds, "mithril", 2, 4, new Color(146, 164, 208), "ingotMithril", 4);
-        addSeed(defaultSeeds, "osmium", 2, 4, new Color(68, 60, 190), "ingotOsmium", 4);
-        addSeed(defaultSeeds, "ender", 2, 4, new Color(72, 100, 97), new ItemStack(Items.ENDER_PEARL), 2);
-        addSeed(defaultSeeds, "teary", 2, 4, new Color(212, 255, 241), new ItemStack(Items.GHAST_TEAR), 4);
-        addSeed(defaultSeeds, "creepy", 2, 4, new Color(0, 255, 33), new ItemStack(Items.GUNPOWDER), 8);
-        addSeed(defaultSeeds, "skelesprout", 2, 2, new Color(159, 164, 155), new ItemStack(Items.SKULL), 1);
-        addSeed(defaultSeeds, "brainy", 2, 2, new Color(49, 105, 50), new ItemStack(Items.SKULL, 1, 2), 1);
-        addSeed(defaultSeeds, "mindful", 2, 2, new Color(232, 186, 131), new ItemStack(Items.SKULL, 1, 3), 1);
-        addSeed(defaultSeeds, "creepot", 2, 2, new Color(71, 178, 74), new ItemStack(Items.SKULL, 1, 4), 1);
-        addSeed(defaultSeeds, "glowing", 2, 4, new Color(233, 255, 84), "dustGlowstone", 8);
-        addSeed(defaultSeeds, "redstone", 2, 4, new Color(159, 13, 0), "dustRedstone", 8);
-        addSeed(defaultSeeds, "sulfur", 2, 4, new Color(212, 190, 85), "dustSulfur", 8);
-        addSeed(defaultSeeds, "lapis", 2, 4, new Color(63, 71, 206), "gemLapis", 8);
-        addSeed(defaultSeeds, "quartz", 2, 4, new Color(255, 255, 255), "gemQuartz", 4);
-        addSeed(defaultSeeds, "certus", 2, 4, new Color(168, 204, 208), "crystalCertusQuartz", 4);
-        addSeed(defaultSeeds, "ruby", 2, 4, new Color(212, 48, 55), "gemRuby", 8);
-        addSeed(defaultSeeds, "peridot", 2, 4, new Color(130, 212, 108), "gemPeridot", 8);
-        addSeed(defaultSeeds, "topaz", 2, 4, new Color(212, 143, 101), "gemTopaz", 8);
-        addSeed(defaultSeeds, "tanzanite", 2, 4, new Color(42, 7, 96), "gemTanzanite", 8);
-        addSeed(defaultSeeds, "malachite", 2, 4, new Color(59, 255, 226), "gemMalachite", 8);
-        addSeed(defaultSeeds, "sapphire", 2, 4, new Color(88, 106, 212), "gemSapphire", 8);
-        addSeed(defaultSeeds, "amber", 2, 4, new Color(212, 121, 60), "gemAmber", 8);
-        addSeed(defaultSeeds, "apatite", 2, 4, new Color(121, 188, 212), "gemApatite", 8);
+        addSeed(defaultSeeds, "blazing", 2, 4, 0xFFD742, new ItemStack(Items.BLAZE_ROD), 2);
+        addSeed(defaultSeeds, "ferrous", 2, 4, 0x9F9CA0, "ingotIron", 4);
+        addSeed(defaultSeeds, "golden", 2, 4, 0xFFFF00, "ingotGold", 4);
+        addSeed(defaultSeeds, "lead", 2, 4, 0x666699, "ingotLead", 4);
+        addSeed(defaultSeeds, "silver", 2, 4, 0xBBBDB8, "ingotSilver", 4);
+        addSeed(defaultSeeds, "nickel", 2, 4, 0xCCCCCC, "ingotNickel", 4);
+        addSeed(defaultSeeds, "mithril", 2, 4, 0x92A4D0, "ingotMithril", 4);
+        addSeed(defaultSeeds, "osmium", 2, 4, 0x443CBE, "ingotOsmium", 4);
+        addSeed(defaultSeeds, "ender", 2, 4, 0x486461, new ItemStack(Items.ENDER_PEARL), 2);
+        addSeed(defaultSeeds, "teary", 2, 4, 0xD4FFF1, new ItemStack(Items.GHAST_TEAR), 4);
+        addSeed(defaultSeeds, "creepy", 2, 4, 0x00FF21, new ItemStack(Items.GUNPOWDER), 8);
+        addSeed(defaultSeeds, "skelesprout", 2, 2, 0x9FA49B, new ItemStack(Items.SKULL), 1);
+        addSeed(defaultSeeds, "brainy", 2, 2, 0x316932, new ItemStack(Items.SKULL, 1, 2), 1);
+        addSeed(defaultSeeds, "mindful", 2, 2, 0xE8BA83, new ItemStack(Items.SKULL, 1, 3), 1);
+        addSeed(defaultSeeds, "creepot", 2, 2, 0x47B24A, new ItemStack(Items.SKULL, 1, 4), 1);
+        addSeed(defaultSeeds, "glowing", 2, 4, 0xE9FF54, "dustGlowstone", 8);
+        addSeed(defaultSeeds, "redstone", 2, 4, 0x9F0D00, "dustRedstone", 8);
+        addSeed(defaultSeeds, "sulfur", 2, 4, 0xD4BE55, "dustSulfur", 8);
+        addSeed(defaultSeeds, "lapis", 2, 4, 0x3F47CE, "gemLapis", 8);
+        addSeed(defaultSeeds, "quartz", 2, 4, 0xFFFFFF, "gemQuartz", 4);
+        addSeed(defaultSeeds, "certus", 2, 4, 0xA8CCD0, "crystalCertusQuartz", 4);
+        addSeed(defaultSeeds, "ruby", 2, 4, 0xD43037, "gemRuby", 8);
+        addSeed(defaultSeeds, "peridot", 2, 4, 0x82D46C, "gemPeridot", 8);
+        addSeed(defaultSeeds, "topaz", 2, 4, 0xD48F65, "gemTopaz", 8);
+        addSeed(defaultSeeds, "tanzanite", 2, 4, 0x2A0760, "gemTanzanite", 8);
+        addSeed(defaultSeeds, "malachite", 2, 4, 0x3BFFE2, "gemMalachite", 8);
+        addSeed(defaultSeeds, "sapphire", 2, 4, 0x586AD4, "gemSapphire", 8);
+        addSeed(defaultSeeds, "amber", 2, 4, 0xD4793C, "gemAmber", 8);
+        addSeed(defaultSeeds, "apatite", 2, 4, 0x79BCD4, "gemApatite", 8);
         // Tier 4
-        addSeed(defaultSeeds, "witherwheat", 3, 2, new Color(52, 52, 51), new ItemStack(Items.SKULL, 1, 1), 1);
-        addSeed(defaultSeeds, "diamond", 3, 4, new Color(58, 242, 239), "gemDiamond", 1);
-        addSeed(defaultSeeds, "emerald", 3, 4, new Color(87, 242, 111), "gemEmerald", 1);
-        addSeed(defaultSeeds, "platinum", 3, 4, new Color(30, 208, 243), "ingotPlatinum", 1);
-        addSeed(defaultSeeds, "yellorium", 3, 4, new Color(142, 160, 19), "ingotYellorium", 2);
-        addSeed(defaultSeeds, "titanium", 3, 4, new Color(212, 165, 182), "ingotTitanium", 1);
-        addSeed(defaultSeeds, "desh", 3, 4, new Color(39, 39, 40), "ingotDesh", 1);
-        addSeed(defaultSeeds, "cobalt", 3, 4, new Color(0, 60, 255), "ingotCobalt", 1);
-        addSeed(defaultSeeds, "ardite", 3, 4, new Color(255, 102, 0), "ingotArdite", 1);
+        addSeed(defaultSeeds, "witherwheat", 3, 2, 0x343433, new ItemStack(Items.SKULL, 1, 1), 1);
+        addSeed(defaultSeeds, "diamond", 3, 4, 0x3AF2EF, "gemDiamond", 1);
+        addSeed(defaultSeeds, "emerald", 3, 4, 0x57F26F, "gemEmerald", 1);
+        addSeed(defaultSeeds, "platinum", 3, 4, 0x1ED0F3, "ingotPlatinum", 1);
+        addSeed(defaultSeeds, "yellorium", 3, 4, 0x8EA013, "ingotYellorium", 2);
+        addSeed(defaultSeeds, "titanium", 3, 4, 0xD4A5B6, "ingotTitanium", 1);
+        addSeed(defaultSeeds, "desh", 3, 4, 0x272728, "ingotDesh", 1);
+        addSeed(defaultSeeds, "cobalt", 3, 4, 0x003CFF, "ingotCobalt", 1);
+        addSeed(defaultSeeds, "ardite", 3, 4, 0xFF6600, "ingotArdite", 1);
 
         return defaultSeeds;
     }
 
-    private static void addSeed(Set<Seed> seeds, String name, int tier, int amount, Color color, ItemStack stack, int outputAmount) {
+    private static void addSeed(Set<Seed> seeds, String name, int tier, int amount, int color, ItemStack stack, int outputAmount) {
         ItemStack output = stack.copy();
         output.stackSize = outputAmount;
         seeds.add(new Seed(name, tier, amount, color, stack, new Output(output, Output.Shape.DEFAULT, null), null));
     }
 
-    private static void addSeed(Set<Seed> seeds, String name, int tier, int amount, Color color, String oreDict, int outputAmount) {
+    private static void addSeed(Set<Seed> seeds, String name, int tier, int amount, int color, String oreDict, int outputAmount) {
         if (OreDictionary.doesOreNameExist(oreDict) && OreDictionary.getOres(oreDict).size() > 0) {
             ItemStack output = OreDictionary.getOres(oreDict).get(0).copy();
             output.stackSize = outputAmount;
@@ -155,10 +423,39 @@ public class SeedLoader {
         }
     }
 
+    static ResourceLocation getSeedKey(Seed seed) {
+        return new ResourceLocation(ResourcefulCrops.MODID, Util.cleanString(seed.getName()));
+    }
+
+    static String getFileName(Seed seed) {
+        return Util.cleanString(seed.getName()) + ".json";
+    }
+
+    @Nullable
+    static ResourceLocation getFileKey(String fileName) {
+        return FILE_KEYS.get(fileName);
+    }
+
+    /**
+     * @return the pack or mod definition of a seed, used when no loose file overrides it, or null if there is none.
+     */
+    @Nullable
+    static Seed getPackSeed(ResourceLocation seedKey) {
+        return PACK_SEEDS.get(seedKey);
+    }
+
+    static void setFileKey(String fileName, @Nullable ResourceLocation seedKey) {
+        if (seedKey == null)
+            FILE_KEYS.remove(fileName);
+        else
+            FILE_KEYS.put(fileName, seedKey);
+    }
+
     // Used to add new checks in the future for requirements on seeds. Returns an error message to display
     @Nullable
-    private static String sanityCheck(Seed seed) {
-        if (seed.getInputItems().isEmpty())
+    static String sanityCheck(Seed seed) {
+        // Ore dictionary inputs may still be registered by other mods later on
+        if (seed.getOreName() == null && seed.getInputItems().isEmpty())
             return String.format("Seed %s has no valid inputs. Ignoring.", seed.getRegistryName().toString());
 
         return null;
@@ -0,0 +1,170 @@
+package tehnut.resourceful.crops.core;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.event.FMLInterModComms;
+import net.minecraftforge.fml.common.registry.GameRegistry;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.api.ResourcefulCropsAPI;
+import tehnut.resourceful.crops.api.SeedDefinition;
+import tehnut.resourceful.crops.core.data.GrowthRequirement;
+import tehnut.resourceful.crops.core.data.Output;
+import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.util.StartupTimer;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registers the seeds submitted through {@link ResourcefulCropsAPI} and IMC.
+ *
+ * Submitted seeds are collected and registered as one batch. Each definition is validated once and turned into a
+ * {@link Seed} directly, without going through JSON. Seeds from seed files take precedence, so a definition whose key
+ * is already registered is skipped.
+ */
+public class SeedRegistrar {
+
+    /**
+     * Registers everything submitted through the API so far. Called during init, before the seed table and recipes
+     * are built.
+     */
+    public static void registerPending() {
+        List<Seed> registered = register(ResourcefulCropsAPI.takePendingSeeds(), "the API");
+        if (!registered.isEmpty())
+            ResourcefulCrops.LOGGER.info("Registered {} seeds from the API", registered.size());
+    }
+
+    /**
+     * Registers seeds sent over IMC along with anything submitted through the API since init. The seed table and
+     * recipes already exist at this point, so they are updated once for the whole batch.
+     */
+    public static void handleIMC(List<FMLInterModComms.IMCMessage> messages) {
+        long start = StartupTimer.start();
+        List<Seed> registered = Lists.newArrayList(register(ResourcefulCropsAPI.takePendingSeeds(), "the API"));
+        for (FMLInterModComms.IMCMessage message : messages) {
+            if (!ResourcefulCropsAPI.IMC_REGISTER_SEEDS.equals(message.key))
+                continue;
+
+            if (!message.isNBTMessage()) {
+                ResourcefulCrops.LOGGER.error("Mod {} sent {} without an NBT compound", message.getSender(), message.key);
+                continue;
+            }
+
+            NBTTagList seedList = message.getNBTValue().getTagList("seeds", Constants.NBT.TAG_COMPOUND);
+            List<SeedDefinition> definitions = Lists.newArrayListWithCapacity(seedList.tagCount());
+            for (int i = 0; i < seedList.tagCount(); i++)
+                definitions.add(SeedDefinition.readFromNBT(seedList.getCompoundTagAt(i)));
+            registered.addAll(register(definitions, message.getSender()));
+        }
+
+        if (!registered.isEmpty()) {
+            SeedTable.build();
+            for (Seed seed : registered)
+                ModObjects.registerSeedRecipes(seed);
+            ModObjects.registerTierRecipes();
+            ResourcefulCrops.LOGGER.info("Registered {} seeds from other mods", registered.size());
+        }
+        StartupTimer.end("imc.seeds", start);
+    }
+
+    private static List<Seed> register(List<SeedDefinition> definitions, String source) {
+        if (definitions.isEmpty())
+            return Lists.newArrayList();
+
+        // Later definitions of the same seed replace earlier ones
+        Map<ResourceLocation, Seed> seeds = Maps.newLinkedHashMap();
+        for (SeedDefinition definition : definitions) {
+            String error = validate(definition);
+            if (error != null) {
+                ResourcefulCrops.LOGGER.error("Seed {} from {} is invalid: {}. Ignoring.", definition.getName(), source, error);
+                continue;
+            }
+
+            Seed seed = createSeed(definition);
+            ResourceLocation seedKey = SeedLoader.getSeedKey(seed);
+            if (ModObjects.SEEDS.containsKey(seedKey)) {
+                ResourcefulCrops.debug("Seed {} from {} is already defined by a seed file. Ignoring.", seedKey, source);
+                continue;
+            }
+
+            seeds.put(seedKey, seed);
+        }
+
+        List<Seed> registered = Lists.newArrayListWithCapacity(seeds.size());
+        for (Map.Entry<ResourceLocation, Seed> entry : seeds.entrySet())
+            registered.add(GameRegistry.register(entry.getValue().setRegistryName(entry.getKey())));
+
+        StartupTimer.count("apiSeeds", registered.size());
+        return registered;
+    }
+
+    @Nullable
+    private static String validate(SeedDefinition definition) {
+        if (Strings.isNullOrEmpty(definition.getName()))
+            return "no name";
+        if (definition.getTier() < 0 || definition.getTier() > 3)
+            return "tier must be from 0 to 3";
+        if (definition.getCraftAmount() <= 0)
+            return "craft amount must be positive";
+        if (Strings.isNullOrEmpty(definition.getInputOre()) && definition.getInputItems().isEmpty())
+            return "no inputs";
+        for (ItemStack stack : definition.getInputItems())
+            if (stack == null || stack.getItem() == null)
+                return "missing input item";
+        if (definition.getOutputs().isEmpty())
+            return "no outputs";
+        for (SeedDefinition.OutputDefinition output : definition.getOutputs()) {
+            if (output.getItem() == null || output.getItem().getItem() == null)
+                return "missing output item";
+            if (getShape(output.getShape()) == null)
+                return "unknown shape " + output.getShape();
+        }
+        if (definition.getMinLight() < 0 || definition.getMaxLight() > 15 || definition.getMinLight() > definition.getMaxLight())
+            return "light must be from 0 to 15";
+        for (String part : definition.getTintColors().keySet())
+            if (Seed.Part.fromName(part) == null)
+                return "unknown tinted part " + part;
+
+        return null;
+    }
+
+    private static Seed createSeed(SeedDefinition definition) {
+        List<SeedDefinition.OutputDefinition> outputDefinitions = definition.getOutputs();
+        Output[] outputs = new Output[outputDefinitions.size()];
+        for (int i = 0; i < outputs.length; i++) {
+            SeedDefinition.OutputDefinition output = outputDefinitions.get(i);
+            outputs[i] = new Output(output.getItem().copy(), getShape(output.getShape()), output.getCustomFormat());
+        }
+
+        GrowthRequirement growthRequirement = new GrowthRequirement(definition.getMinLight(), definition.getMaxLight(), definition.getRequiredState(), definition.getRequiredOre(), definition.getBiomes(), definition.getDimensions(), definition.requiresSky(), definition.getMinStageTicks(), definition.getMaxStageTicks());
+        Seed seed;
+        if (!Strings.isNullOrEmpty(definition.getInputOre())) {
+            seed = new Seed(definition.getName(), definition.getTier(), definition.getCraftAmount(), definition.getColor(), definition.getInputOre(), outputs, growthRequirement);
+        } else {
+            List<ItemStack> inputs = Lists.newArrayListWithCapacity(definition.getInputItems().size());
+            for (ItemStack stack : definition.getInputItems())
+                inputs.add(stack.copy());
+            seed = new Seed(definition.getName(), definition.getTier(), definition.getCraftAmount(), definition.getColor(), inputs, outputs, growthRequirement);
+        }
+
+        for (Map.Entry<String, int[]> entry : definition.getTintColors().entrySet())
+            seed.setTintColors(Seed.Part.fromName(entry.getKey()), entry.getValue());
+        return seed;
+    }
+
+    @Nullable
+    private static Output.Shape getShape(String shape) {
+        try {
+            return Output.Shape.valueOf(shape.toUpperCase(Locale.ENGLISH));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package tehnut.resourceful.crops.core;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.gson.Gson;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ResourceLocation;
+import org.apache.commons.io.IOUtils;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.json.Serializers;
+import tehnut.resourceful.crops.network.ResourcefulPacketHandler;
+import tehnut.resourceful.crops.network.SeedReloadPacketProcessor;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the seeds directory while a server is running and applies changed seed files without a restart.
+ *
+ * Only the files that changed are parsed, on the watcher thread. The resulting additions, changes and removals are
+ * then applied on the server thread to the {@link SeedTable} and the recipes of the affected seeds, and sent to
+ * clients. Seed keys never change, so crops and items in the world keep their seed. Crops of a removed seed behave as
+ * if the seed is missing until it is added back.
+ */
+public class SeedReloader implements Runnable {
+
+    private static SeedReloader instance;
+    // Every change made by reloads since the server started, sent to players as they log in
+    private static final Map<ResourceLocation, String> RELOADED = Maps.newLinkedHashMap();
+    private static final Set<ResourceLocation> RELOAD_REMOVED = Sets.newLinkedHashSet();
+    // The seeds a remote server's reloads replaced on this client, restored on disconnect. Null for seeds that were new.
+    private static final Map<ResourceLocation, Seed> CLIENT_ORIGINALS = Maps.newHashMap();
+
+    private final MinecraftServer server;
+    private final File seedDir;
+    private final WatchService watchService;
+
+    private SeedReloader(MinecraftServer server, File seedDir) throws IOException {
+        this.server = server;
+        this.seedDir = seedDir;
+        this.watchService = seedDir.toPath().getFileSystem().newWatchService();
+        seedDir.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Set<String> changedFiles = Sets.newHashSet();
+                collectChanges(watchService.take(), changedFiles);
+
+                // Editors often save a file in several steps, so wait for the directory to settle first
+                WatchKey key;
+                while ((key = watchService.poll(500, TimeUnit.MILLISECONDS)) != null)
+                    collectChanges(key, changedFiles);
+
+                if (!changedFiles.isEmpty())
+                    reload(changedFiles);
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<String> changedFiles) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Some events were lost, so check everything
+                File[] jsonFiles = seedDir.listFiles(new FileFilter() {
+                    @Override
+                    public boolean accept(File file) {
+                        return file.getName().endsWith(".json");
+                    }
+                });
+                if (jsonFiles != null)
+                    for (File jsonFile : jsonFiles)
+                        changedFiles.add(jsonFile.getName());
+                continue;
+            }
+
+            String fileName = ((Path) event.context()).getFileName().toString();
+            if (fileName.endsWith(".json"))
+                changedFiles.add(fileName);
+        }
+
+        key.reset();
+    }
+
+    private void reload(Set<String> changedFiles) {
+        Gson gson = Serializers.withAll();
+        final Map<String, Seed> parsed = Maps.newHashMap();
+        final Set<String> deleted = Sets.newHashSet();
+        for (String fileName : changedFiles) {
+            File file = new File(seedDir, fileName);
+            if (!file.isFile()) {
+                deleted.add(fileName);
+                continue;
+            }
+
+            // Files that fail to parse keep their current seed
+            Seed seed = SeedLoader.parseSeed(gson, file);
+            if (seed != null)
+                parsed.put(fileName, seed);
+        }
+
+        server.addScheduledTask(new Runnable() {
+            @Override
+            public void run() {
+                applyFileChanges(parsed, deleted);
+            }
+        });
+    }
+
+    private static void applyFileChanges(Map<String, Seed> parsed, Set<String> deleted) {
+        Map<ResourceLocation, Seed> changed = Maps.newLinkedHashMap();
+        Set<ResourceLocation> removed = Sets.newHashSet();
+
+        for (String fileName : deleted) {
+            ResourceLocation seedKey = SeedLoader.getFileKey(fileName);
+            if (seedKey != null)
+                removed.add(seedKey);
+            SeedLoader.setFileKey(fileName, null);
+        }
+
+        for (Map.Entry<String, Seed> entry : parsed.entrySet()) {
+            Seed seed = entry.getValue();
+            seed.setRegistryName(SeedLoader.getSeedKey(seed));
+            String sanity = SeedLoader.sanityCheck(seed);
+            if (!Strings.isNullOrEmpty(sanity)) {
+                ResourcefulCrops.LOGGER.error(sanity);
+                continue;
+            }
+
+            // A file that now defines a different seed removes the one it defined before
+            ResourceLocation oldKey = SeedLoader.getFileKey(entry.getKey());
+            if (oldKey != null && !oldKey.equals(seed.getRegistryName()))
+                removed.add(oldKey);
+
+            SeedLoader.setFileKey(entry.getKey(), seed.getRegistryName());
+            changed.put(seed.getRegistryName(), seed);
+        }
+
+        removed.removeAll(changed.keySet());
+
+        // Seeds that were only overriding a pack or mod definition fall back to it
+        Iterator<ResourceLocation> removedIterator = removed.iterator();
+        while (removedIterator.hasNext()) {
+            ResourceLocation seedKey = removedIterator.next();
+            Seed packSeed = SeedLoader.getPackSeed(seedKey);
+            if (packSeed != null) {
+                changed.put(seedKey, packSeed);
+                removedIterator.remove();
+            }
+        }
+
+        if (changed.isEmpty() && removed.isEmpty())
+            return;
+
+        int added = 0;
+        for (ResourceLocation seedKey : changed.keySet())
+            if (SeedTable.get().getSeed(seedKey) == null)
+                added++;
+
+        applyChanges(changed, removed);
+
+        Gson gson = Serializers.withAll();
+        Map<ResourceLocation, String> changedJson = Maps.newLinkedHashMap();
+        for (Seed seed : changed.values())
+            changedJson.put(seed.getRegistryName(), gson.toJson(seed));
+
+        RELOADED.putAll(changedJson);
+        RELOAD_REMOVED.removeAll(changedJson.keySet());
+        RELOADED.keySet().removeAll(removed);
+        RELOAD_REMOVED.addAll(removed);
+
+        ResourcefulPacketHandler.INSTANCE.sendToAll(new SeedReloadPacketProcessor(changedJson, Lists.newArrayList(removed)));
+
+        ResourcefulCrops.LOGGER.info("Reloaded seeds: {} added, {} changed, {} removed", added, changed.size() - added, removed.size());
+    }
+
+    /**
+     * Applies a set of seed changes to the seed table and recipes. Used by the server and by clients connected to a
+     * remote server.
+     */
+    public static void applyChanges(Map<ResourceLocation, Seed> changed, Collection<ResourceLocation> removed) {
+        SeedTable.update(changed, removed);
+        // After the update, so a stack made in between is not kept for a removed seed
+        ModObjects.SEED.clearPrototypes();
+        ModObjects.POUCH.clearPrototypes();
+        ModObjects.SHARD.clearPrototypes();
+
+        for (ResourceLocation seedKey : removed)
+            ModObjects.removeSeedRecipes(seedKey);
+        for (Seed seed : changed.values())
+            ModObjects.registerSeedRecipes(seed);
+        ModObjects.registerTierRecipes();
+    }
+
+    /**
+     * @return a packet with every change reloaded since the server started, for a player that has just logged in, or
+     * null if nothing has been reloaded.
+     */
+    @Nullable
+    public static SeedReloadPacketProcessor getLoginPacket() {
+        if (RELOADED.isEmpty() && RELOAD_REMOVED.isEmpty())
+            return null;
+
+        return new SeedReloadPacketProcessor(Maps.newLinkedHashMap(RELOADED), Lists.newArrayList(RELOAD_REMOVED));
+    }
+
+    /**
+     * Applies changes received from a remote server, remembering the seeds they replace so they can be restored by
+     * {@link #revertRemoteChanges()} once the client disconnects.
+     */
+    public static void applyRemoteChanges(Map<ResourceLocation, Seed> changed, Collection<ResourceLocation> removed) {
+        SeedTable seedTable = SeedTable.get();
+        for (ResourceLocation seedKey : Iterables.concat(changed.keySet(), removed))
+            if (!CLIENT_ORIGINALS.containsKey(seedKey))
+                CLIENT_ORIGINALS.put(seedKey, seedTable.getSeed(seedKey));
+
+        applyChanges(changed, removed);
+    }
+
+    /**
+     * Restores the seeds replaced by changes from a remote server, so they do not carry over into the next world.
+     */
+    public static void revertRemoteChanges() {
+        if (CLIENT_ORIGINALS.isEmpty())
+            return;
+
+        Map<ResourceLocation, Seed> restored = Maps.newLinkedHashMap();
+        Set<ResourceLocation> removed = Sets.newHashSet();
+        for (Map.Entry<ResourceLocation, Seed> entry : CLIENT_ORIGINALS.entrySet()) {
+            if (entry.getValue() != null)
+                restored.put(entry.getKey(), entry.getValue());
+            else
+                removed.add(entry.getKey());
+        }
+
+        CLIENT_ORIGINALS.clear();
+        applyChanges(restored, removed);
+        ResourcefulCrops.debug("Restored {} seeds changed by the server", restored.size() + removed.size());
+    }
+
+    public static void start(MinecraftServer server, File seedDir) {
+        if (instance != null || !seedDir.isDirectory())
+            return;
+
+        try {
+            instance = new SeedReloader(server, seedDir);
+        } catch (IOException e) {
+            ResourcefulCrops.LOGGER.error("Unable to watch the seed directory for changes: {}", e.getLocalizedMessage());
+            return;
+        }
+
+        Thread thread = new Thread(instance, ResourcefulCrops.NAME + " Seed Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        ResourcefulCrops.debug("Watching {} for seed changes", seedDir);
+    }
+
+    public static void stop() {
+        RELOADED.clear();
+        RELOAD_REMOVED.clear();
+        if (instance == null)
+            return;
+
+        IOUtils.closeQuietly(instance.watchService);
+        instance = null;
+    }
+}
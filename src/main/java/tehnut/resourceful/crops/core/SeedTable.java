@@ -0,0 +1,182 @@
+package tehnut.resourceful.crops.core;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import net.minecraft.util.ResourceLocation;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.data.Seed;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A frozen snapshot of the loaded seeds, first built from {@link ModObjects#SEEDS} once seeds have been loaded.
+ *
+ * Seeds are stored in an array in registration order so they can be looked up by index. Keys are mapped to indices
+ * both as {@link ResourceLocation}s and as strings, the latter so item NBT can be resolved without parsing the key.
+ * Seeds are also grouped by tier up front.
+ *
+ * The table is never modified after being built. {@link #build()} and {@link #update(Map, Collection)} swap in a new
+ * instance instead, so readers on other threads always see a consistent table. Updates keep the index of every existing
+ * key, including removed ones, so a seed that is removed and added again gets its old index back.
+ */
+public class SeedTable {
+
+    private static volatile SeedTable instance = new SeedTable(new ResourceLocation[0], new Seed[0]);
+
+    // Both arrays share indices. Removed seeds leave their key behind with a null seed.
+    private final ResourceLocation[] keys;
+    private final Seed[] seeds;
+    private final List<Seed> seedList;
+    private final ImmutableMap<ResourceLocation, Integer> keyToIndex;
+    private final ImmutableMap<String, Integer> stringToIndex;
+    private final ImmutableListMultimap<Integer, Seed> tiers;
+
+    private SeedTable(ResourceLocation[] keys, Seed[] seeds) {
+        this.keys = keys;
+        this.seeds = seeds;
+
+        ImmutableList.Builder<Seed> seedList = ImmutableList.builder();
+        ImmutableMap.Builder<ResourceLocation, Integer> keyToIndex = ImmutableMap.builder();
+        ImmutableMap.Builder<String, Integer> stringToIndex = ImmutableMap.builder();
+        ImmutableListMultimap.Builder<Integer, Seed> tiers = ImmutableListMultimap.builder();
+        for (int i = 0; i < keys.length; i++) {
+            keyToIndex.put(keys[i], i);
+            stringToIndex.put(keys[i].toString(), i);
+
+            Seed seed = seeds[i];
+            if (seed != null) {
+                seedList.add(seed);
+                tiers.put(seed.getTier(), seed);
+            }
+        }
+
+        this.seedList = seedList.build();
+        this.keyToIndex = keyToIndex.build();
+        this.stringToIndex = stringToIndex.build();
+        this.tiers = tiers.build();
+    }
+
+    /**
+     * @return the number of indices in use, including those of removed seeds.
+     */
+    public int size() {
+        return seeds.length;
+    }
+
+    @Nullable
+    public Seed getSeed(int index) {
+        return index >= 0 && index < seeds.length ? seeds[index] : null;
+    }
+
+    @Nullable
+    public Seed getSeed(@Nullable ResourceLocation key) {
+        if (key == null)
+            return null;
+
+        Integer index = keyToIndex.get(key);
+        return index != null ? seeds[index] : null;
+    }
+
+    /**
+     * Looks up a seed by the string form of its key, as stored in item NBT. Keys that are not in their normalized form
+     * are parsed before giving up.
+     */
+    @Nullable
+    public Seed getSeed(@Nullable String key) {
+        if (key == null)
+            return null;
+
+        Integer index = stringToIndex.get(key);
+        if (index != null)
+            return seeds[index];
+
+        return key.isEmpty() ? null : getSeed(new ResourceLocation(key));
+    }
+
+    /**
+     * @return the index of the given key, or -1 if no seed with that key has ever been loaded.
+     */
+    public int getIndex(ResourceLocation key) {
+        Integer index = keyToIndex.get(key);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @return the index of the given key as stored in item NBT, or -1 if no seed with that key has ever been loaded.
+     */
+    public int getIndex(String key) {
+        Integer index = stringToIndex.get(key);
+        if (index != null)
+            return index;
+
+        return key.isEmpty() ? -1 : getIndex(new ResourceLocation(key));
+    }
+
+    /**
+     * @return every seed in registration order.
+     */
+    public List<Seed> getSeeds() {
+        return seedList;
+    }
+
+    /**
+     * @return every seed of the given tier in registration order. Empty if there are none.
+     */
+    public List<Seed> getTier(int tier) {
+        return tiers.get(tier);
+    }
+
+    public static SeedTable get() {
+        return instance;
+    }
+
+    /**
+     * Rebuilds the table from the current contents of {@link ModObjects#SEEDS}. Must be called whenever seeds are
+     * registered.
+     */
+    public static void build() {
+        List<Seed> registered = ModObjects.SEEDS.getValues();
+        ResourceLocation[] keys = new ResourceLocation[registered.size()];
+        Seed[] seeds = new Seed[registered.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = registered.get(i);
+            keys[i] = seeds[i].getRegistryName();
+        }
+
+        instance = new SeedTable(keys, seeds);
+        ResourcefulCrops.debug("Built seed table with {} seeds", instance.size());
+    }
+
+    /**
+     * Replaces or adds the changed seeds and clears the removed ones. Existing keys keep their index and new keys are
+     * appended.
+     */
+    public static void update(Map<ResourceLocation, Seed> changed, Collection<ResourceLocation> removed) {
+        SeedTable current = instance;
+        List<ResourceLocation> keys = Lists.newArrayList(current.keys);
+        List<Seed> seeds = Lists.newArrayList(current.seeds);
+
+        for (ResourceLocation key : removed) {
+            int index = current.getIndex(key);
+            if (index != -1)
+                seeds.set(index, null);
+        }
+
+        for (Map.Entry<ResourceLocation, Seed> entry : changed.entrySet()) {
+            int index = current.getIndex(entry.getKey());
+            if (index != -1) {
+                seeds.set(index, entry.getValue());
+            } else {
+                keys.add(entry.getKey());
+                seeds.add(entry.getValue());
+            }
+        }
+
+        instance = new SeedTable(keys.toArray(new ResourceLocation[keys.size()]), seeds.toArray(new Seed[seeds.size()]));
+    }
+}
@@ -1,9 +1,32 @@
 package tehnut.resourceful.crops.core.data;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.oredict.OreDictionary;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.ConfigHandler;
 
 import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.List;
 
+/**
+ * The conditions a crop needs to grow.
+ *
+ * The conditions are compiled into a list of checks when the requirement is created. Only checks that can fail are
+ * included, ordered from cheapest to most expensive, so {@link #canGrow(World, BlockPos)} usually stops after a few
+ * int compares.
+ */
 public class GrowthRequirement {
 
     public static final GrowthRequirement DEFAULT = new GrowthRequirement(7, 15, null);
@@ -12,11 +35,48 @@ public class GrowthRequirement {
     private final int maxLight;
     @Nullable
     private final IBlockState requiredState;
+    @Nullable
+    private final String requiredOre;
+    private final List<ResourceLocation> biomes;
+    private final List<Integer> dimensions;
+    private final boolean requiresSky;
+    // Ticks per stage for scheduled growth. 0 uses the config values.
+    private final int minStageTicks;
+    private final int maxStageTicks;
 
-    public GrowthRequirement(int minLight, int maxLight, @Nullable IBlockState requiredState) {
+    private final Condition[] conditions;
+
+    public GrowthRequirement(int minLight, int maxLight, @Nullable IBlockState requiredState, @Nullable String requiredOre, List<ResourceLocation> biomes, List<Integer> dimensions, boolean requiresSky, int minStageTicks, int maxStageTicks) {
         this.minLight = minLight;
         this.maxLight = maxLight;
         this.requiredState = requiredState;
+        this.requiredOre = Strings.emptyToNull(requiredOre);
+        this.biomes = ImmutableList.copyOf(biomes);
+        this.dimensions = ImmutableList.copyOf(dimensions);
+        this.requiresSky = requiresSky;
+        this.minStageTicks = minStageTicks;
+        this.maxStageTicks = maxStageTicks;
+
+        this.conditions = compile();
+    }
+
+    public GrowthRequirement(int minLight, int maxLight, @Nullable IBlockState requiredState, int minStageTicks, int maxStageTicks) {
+        this(minLight, maxLight, requiredState, null, ImmutableList.<ResourceLocation>of(), ImmutableList.<Integer>of(), false, minStageTicks, maxStageTicks);
+    }
+
+    public GrowthRequirement(int minLight, int maxLight, @Nullable IBlockState requiredState) {
+        this(minLight, maxLight, requiredState, 0, 0);
+    }
+
+    /**
+     * Checks whether a crop at the given position currently meets every condition.
+     */
+    public boolean canGrow(World world, BlockPos pos) {
+        for (Condition condition : conditions)
+            if (!condition.test(world, pos))
+                return false;
+
+        return true;
     }
 
     public int getMinLight() {
@@ -32,6 +92,167 @@ public class GrowthRequirement {
         return requiredState;
     }
 
+    /**
+     * @return an ore dictionary name the block under the soil must match, or null if any block is allowed.
+     */
+    @Nullable
+    public String getRequiredOre() {
+        return requiredOre;
+    }
+
+    /**
+     * @return the biomes the crop may grow in. Empty if it can grow in any biome.
+     */
+    public List<ResourceLocation> getBiomes() {
+        return biomes;
+    }
+
+    /**
+     * @return the dimensions the crop may grow in. Empty if it can grow in any dimension.
+     */
+    public List<Integer> getDimensions() {
+        return dimensions;
+    }
+
+    public boolean requiresSky() {
+        return requiresSky;
+    }
+
+    public int getMinStageTicks() {
+        return minStageTicks > 0 ? minStageTicks : ConfigHandler.growth.minStageTicks;
+    }
+
+    public int getMaxStageTicks() {
+        return Math.max(getMinStageTicks(), maxStageTicks > 0 ? maxStageTicks : ConfigHandler.growth.maxStageTicks);
+    }
+
+    /**
+     * @return the stage ticks set for this seed without the config fallback. 0 if unset.
+     */
+    public int getMinStageTicksOverride() {
+        return minStageTicks;
+    }
+
+    public int getMaxStageTicksOverride() {
+        return maxStageTicks;
+    }
+
+    private Condition[] compile() {
+        List<Condition> compiled = Lists.newArrayList();
+
+        if (!dimensions.isEmpty()) {
+            final BitSet dimensionSet = new BitSet();
+            for (int dimension : dimensions)
+                dimensionSet.set(zigZag(dimension));
+
+            compiled.add(new Condition() {
+                @Override
+                public boolean test(World world, BlockPos pos) {
+                    return dimensionSet.get(zigZag(world.provider.getDimension()));
+                }
+            });
+        }
+
+        if (minLight > 0 || maxLight < 15) {
+            compiled.add(new Condition() {
+                @Override
+                public boolean test(World world, BlockPos pos) {
+                    int light = world.getLightFromNeighbors(pos.up());
+                    return light >= minLight && light <= maxLight;
+                }
+            });
+        }
+
+        if (!biomes.isEmpty()) {
+            compiled.add(new Condition() {
+                // Resolved on first use, once every mod has registered its biomes. Null if none of them exist, in
+                // which case the condition is ignored.
+                private BitSet biomeSet;
+                private boolean resolved;
+
+                @Override
+                public boolean test(World world, BlockPos pos) {
+                    if (!resolved) {
+                        biomeSet = resolveBiomes();
+                        resolved = true;
+                    }
+
+                    return biomeSet == null || biomeSet.get(Biome.getIdForBiome(world.getBiome(pos)));
+                }
+            });
+        }
+
+        if (requiresSky) {
+            compiled.add(new Condition() {
+                @Override
+                public boolean test(World world, BlockPos pos) {
+                    return world.canSeeSky(pos);
+                }
+            });
+        }
+
+        if (requiredState != null) {
+            compiled.add(new Condition() {
+                @Override
+                public boolean test(World world, BlockPos pos) {
+                    return world.getBlockState(pos.down(2)).equals(requiredState);
+                }
+            });
+        }
+
+        if (requiredOre != null) {
+            compiled.add(new Condition() {
+                // The live ore list, so entries registered later still count. Looked up on first use as requirements
+                // may be created off the main thread, where registering a new ore name is not safe.
+                private List<ItemStack> ores;
+
+                @Override
+                public boolean test(World world, BlockPos pos) {
+                    if (ores == null)
+                        ores = OreDictionary.getOres(requiredOre);
+
+                    IBlockState state = world.getBlockState(pos.down(2));
+                    Block block = state.getBlock();
+                    Item blockItem = Item.getItemFromBlock(block);
+                    if (blockItem == null)
+                        return false;
+
+                    int meta = block.damageDropped(state);
+                    for (ItemStack ore : ores)
+                        if (ore.getItem() == blockItem && (ore.getItemDamage() == OreDictionary.WILDCARD_VALUE || ore.getItemDamage() == meta))
+                            return true;
+
+                    return false;
+                }
+            });
+        }
+
+        return compiled.toArray(new Condition[compiled.size()]);
+    }
+
+    @Nullable
+    private BitSet resolveBiomes() {
+        BitSet biomeSet = new BitSet();
+        for (ResourceLocation biomeName : biomes) {
+            Biome biome = ForgeRegistries.BIOMES.getValue(biomeName);
+            if (biome == null)
+                ResourcefulCrops.LOGGER.error("Unknown biome {} in growth requirement. Ignoring.", biomeName);
+            else
+                biomeSet.set(Biome.getIdForBiome(biome));
+        }
+
+        if (!biomeSet.isEmpty())
+            return biomeSet;
+
+        ResourcefulCrops.LOGGER.error("None of the biomes {} in growth requirement exist. Ignoring the biome requirement.", biomes);
+        return null;
+    }
+
+    // Maps negative dimension ids onto non-negative indices so they fit in a BitSet
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -40,7 +261,14 @@ public class GrowthRequirement {
         GrowthRequirement that = (GrowthRequirement) o;
 
         if (getMinLight() != that.getMinLight()) return false;
-        return getMaxLight() == that.getMaxLight();
+        if (getMaxLight() != that.getMaxLight()) return false;
+        if (requiresSky() != that.requiresSky()) return false;
+        if (getMinStageTicksOverride() != that.getMinStageTicksOverride()) return false;
+        if (getMaxStageTicksOverride() != that.getMaxStageTicksOverride()) return false;
+        if (getRequiredState() != null ? !getRequiredState().equals(that.getRequiredState()) : that.getRequiredState() != null) return false;
+        if (getRequiredOre() != null ? !getRequiredOre().equals(that.getRequiredOre()) : that.getRequiredOre() != null) return false;
+        if (!getBiomes().equals(that.getBiomes())) return false;
+        return getDimensions().equals(that.getDimensions());
 
     }
 
@@ -48,6 +276,17 @@ public class GrowthRequirement {
     public int hashCode() {
         int result = getMinLight();
         result = 31 * result + getMaxLight();
+        result = 31 * result + (getRequiredState() != null ? getRequiredState().hashCode() : 0);
+        result = 31 * result + (getRequiredOre() != null ? getRequiredOre().hashCode() : 0);
+        result = 31 * result + getBiomes().hashCode();
+        result = 31 * result + getDimensions().hashCode();
+        result = 31 * result + (requiresSky() ? 1 : 0);
+        result = 31 * result + getMinStageTicksOverride();
+        result = 31 * result + getMaxStageTicksOverride();
         return result;
     }
+
+    private interface Condition {
+        boolean test(World world, BlockPos pos);
+    }
 }
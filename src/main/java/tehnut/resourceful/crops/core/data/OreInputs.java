@@ -0,0 +1,39 @@
+package tehnut.resourceful.crops.core.data;
+
+import com.google.common.collect.Maps;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared views of the ore dictionary entries used as seed inputs.
+ *
+ * Names are resolved the first time they are asked for, once they exist. The views are the ore dictionary's own live
+ * lists, so they are dropped whenever an ore is registered under the same name to pick up any change in how they are
+ * backed.
+ */
+public class OreInputs {
+
+    private static final Map<String, List<ItemStack>> VIEWS = Maps.newConcurrentMap();
+
+    public static List<ItemStack> get(String oreName) {
+        List<ItemStack> view = VIEWS.get(oreName);
+        if (view != null)
+            return view;
+
+        // Checked first as looking up an unknown name would register it
+        if (!OreDictionary.doesOreNameExist(oreName))
+            return Collections.emptyList();
+
+        view = OreDictionary.getOres(oreName);
+        VIEWS.put(oreName, view);
+        return view;
+    }
+
+    public static void refresh(String oreName) {
+        VIEWS.remove(oreName);
+    }
+}
@@ -2,50 +2,55 @@ package tehnut.resourceful.crops.core.data;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.registry.IForgeRegistryEntry;
-import net.minecraftforge.oredict.OreDictionary;
 
 import javax.annotation.Nullable;
-import java.awt.*;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class Seed extends IForgeRegistryEntry.Impl<Seed> {
 
     private final String name;
     private final int tier;
     private final int craftAmount;
-    private final Color color;
+    // Packed RGB
+    private final int color;
     private final List<ItemStack> inputItems;
     private final Output[] outputs;
     private final GrowthRequirement growthRequirement;
 
     @Nullable
     private String oreName;
+    // Packed RGB for each tint layer of each part. -1 leaves a layer at its default.
+    private final Map<Part, int[]> tintColors = Maps.newEnumMap(Part.class);
 
-    public Seed(String name, int tier, int craftAmount, Color color, List<ItemStack> inputItems, Output[] outputs, @Nullable GrowthRequirement growthRequirement) {
+    public Seed(String name, int tier, int craftAmount, int color, List<ItemStack> inputItems, Output[] outputs, @Nullable GrowthRequirement growthRequirement) {
         this.name = name;
         this.tier = tier;
         this.craftAmount = craftAmount;
-        this.color = color;
-        this.inputItems = inputItems;
+        this.color = color & 0xFFFFFF;
+        this.inputItems = ImmutableList.copyOf(inputItems);
         this.outputs = outputs;
         this.growthRequirement = growthRequirement == null ? GrowthRequirement.DEFAULT : growthRequirement;
     }
 
-    public Seed(String name, int tier, int craftAmount, Color color, List<ItemStack> inputItems, Output output, @Nullable GrowthRequirement growthRequirement) {
+    public Seed(String name, int tier, int craftAmount, int color, List<ItemStack> inputItems, Output output, @Nullable GrowthRequirement growthRequirement) {
         this(name, tier, craftAmount, color, inputItems, new Output[]{output}, growthRequirement);
     }
 
-    public Seed(String name, int tier, int craftAmount, Color color, ItemStack inputItem, Output output, @Nullable GrowthRequirement growthRequirement) {
+    public Seed(String name, int tier, int craftAmount, int color, ItemStack inputItem, Output output, @Nullable GrowthRequirement growthRequirement) {
         this(name, tier, craftAmount, color, Lists.newArrayList(inputItem), new Output[]{output}, growthRequirement);
     }
 
-    public Seed(String name, int tier, int craftAmount, Color color, String oreName, Output[] output, @Nullable GrowthRequirement growthRequirement) {
-        this(name, tier, craftAmount, color, OreDictionary.getOres(oreName), output, growthRequirement);
+    public Seed(String name, int tier, int craftAmount, int color, String oreName, Output[] output, @Nullable GrowthRequirement growthRequirement) {
+        this(name, tier, craftAmount, color, Collections.<ItemStack>emptyList(), output, growthRequirement);
+        this.oreName = oreName;
     }
 
-    public Seed(String name, int tier, int craftAmount, Color color, String oreName, Output output, @Nullable GrowthRequirement growthRequirement) {
+    public Seed(String name, int tier, int craftAmount, int color, String oreName, Output output, @Nullable GrowthRequirement growthRequirement) {
         this(name, tier, craftAmount, color, oreName, new Output[]{output}, growthRequirement);
     }
 
@@ -61,12 +66,45 @@ public class Seed extends IForgeRegistryEntry.Impl<Seed> {
         return craftAmount;
     }
 
-    public Color getColor() {
+    /**
+     * @return the base color of this seed as packed RGB.
+     */
+    public int getColor() {
         return color;
     }
 
+    /**
+     * @return the color of a tint layer of the given part as packed RGB. Layers without their own color use the base
+     * color.
+     */
+    public int getColor(Part part, int tintIndex) {
+        int tintColor = getTintColor(part, tintIndex);
+        return tintColor != -1 ? tintColor : color;
+    }
+
+    /**
+     * @return the color set for a tint layer of the given part as packed RGB, or -1 if it has none.
+     */
+    public int getTintColor(Part part, int tintIndex) {
+        int[] partColors = tintColors.get(part);
+        return partColors != null && tintIndex >= 0 && tintIndex < partColors.length ? partColors[tintIndex] : -1;
+    }
+
+    /**
+     * @return the colors of each tint layer of the given part, or null if every layer uses its default. Layers set to
+     * -1 use their default.
+     */
+    @Nullable
+    public int[] getTintColors(Part part) {
+        return tintColors.get(part);
+    }
+
+    /**
+     * @return the items used to craft this seed. For ore dictionary inputs this is a live view that reflects ores
+     * registered after the seed was loaded.
+     */
     public List<ItemStack> getInputItems() {
-        return ImmutableList.copyOf(inputItems);
+        return oreName != null ? OreInputs.get(oreName) : inputItems;
     }
 
     public Output[] getOutputs() {
@@ -85,4 +123,40 @@ public class Seed extends IForgeRegistryEntry.Impl<Seed> {
     public void setOreName(@Nullable String oreName) {
         this.oreName = oreName;
     }
+
+    /**
+     * @param partColors - The color of each tint layer as packed RGB, or -1 to leave a layer at its default
+     */
+    public void setTintColors(Part part, @Nullable int[] partColors) {
+        if (partColors == null || partColors.length == 0) {
+            tintColors.remove(part);
+            return;
+        }
+
+        int[] masked = new int[partColors.length];
+        for (int i = 0; i < partColors.length; i++)
+            masked[i] = partColors[i] == -1 ? -1 : partColors[i] & 0xFFFFFF;
+        tintColors.put(part, masked);
+    }
+
+    /**
+     * The tinted things a seed colors, each with its own tint layers.
+     */
+    public enum Part {
+        SEED,
+        SHARD,
+        // Only tints the overlay on layer 1 by default
+        POUCH,
+        CROP
+        ;
+
+        @Nullable
+        public static Part fromName(String name) {
+            for (Part part : values())
+                if (part.name().equalsIgnoreCase(name))
+                    return part;
+
+            return null;
+        }
+    }
 }
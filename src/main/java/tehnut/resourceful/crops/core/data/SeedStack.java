@@ -1,7 +1,7 @@
 package tehnut.resourceful.crops.core.data;
 
 import net.minecraft.util.ResourceLocation;
-import net.minecraftforge.fml.common.registry.GameRegistry;
+import tehnut.resourceful.crops.core.SeedTable;
 import tehnut.resourceful.crops.item.ItemResourceful;
 
 public class SeedStack {
@@ -37,7 +37,7 @@ public class SeedStack {
     }
 
     public Seed getSeed() {
-        return GameRegistry.findRegistry(Seed.class).getValue(seed);
+        return SeedTable.get().getSeed(seed);
     }
 
     public int getAmount() {
@@ -0,0 +1,77 @@
+package tehnut.resourceful.crops.core.growth;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.block.BlockResourcefulCrop;
+import tehnut.resourceful.crops.core.ConfigHandler;
+import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
+import tehnut.resourceful.crops.util.Util;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grows crops for the time their chunk spent unloaded.
+ *
+ * The world time is saved with every chunk that contains crops. When the chunk loads again, each crop that can
+ * currently grow advances by the number of stages it would have been expected to gain in that time, in a single step.
+ */
+public class CatchUpGrowth {
+
+    // World time read from chunk data, waiting for the chunk to finish loading
+    private static final Map<World, Map<Long, Long>> PENDING = new MapMaker().weakKeys().makeMap();
+
+    public static void readChunk(World world, Chunk chunk, NBTTagCompound tag) {
+        if (!ConfigHandler.growth.enableCatchUpGrowth || !tag.hasKey("lastTick"))
+            return;
+
+        Map<Long, Long> worldPending = PENDING.get(world);
+        if (worldPending == null) {
+            worldPending = Maps.newHashMap();
+            PENDING.put(world, worldPending);
+        }
+
+        worldPending.put(Util.getChunkKey(chunk.xPosition, chunk.zPosition), tag.getLong("lastTick"));
+    }
+
+    public static void writeChunk(World world, NBTTagCompound tag) {
+        tag.setLong("lastTick", world.getTotalWorldTime());
+    }
+
+    public static void simulate(World world, Chunk chunk) {
+        Map<Long, Long> worldPending = PENDING.get(world);
+        if (worldPending == null)
+            return;
+
+        Long lastTick = worldPending.remove(Util.getChunkKey(chunk.xPosition, chunk.zPosition));
+        if (lastTick == null)
+            return;
+
+        long elapsedTicks = world.getTotalWorldTime() - lastTick;
+        if (elapsedTicks <= 0)
+            return;
+
+        BlockResourcefulCrop crop = (BlockResourcefulCrop) ModObjects.CROP;
+        List<BlockPos> positions = SeedStorage.getCropPositions(world, chunk);
+        int grown = 0;
+        for (BlockPos pos : positions) {
+            IBlockState state = world.getBlockState(pos);
+            if (state.getBlock() == crop && crop.catchUpGrowth(world, pos, state, elapsedTicks))
+                grown++;
+        }
+
+        if (grown > 0)
+            ResourcefulCrops.debug("Grew {} crops in chunk {}, {} for {} unloaded ticks", grown, chunk.xPosition, chunk.zPosition, elapsedTicks);
+    }
+
+    public static void unloadWorld(World world) {
+        PENDING.remove(world);
+    }
+}
@@ -0,0 +1,91 @@
+package tehnut.resourceful.crops.core.growth;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import tehnut.resourceful.crops.core.storage.ChunkSeedStorage;
+import tehnut.resourceful.crops.util.Util;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Tracks crops that failed their growth check so random ticks can skip them without re-evaluating the requirements.
+ *
+ * Crops are woken by {@link CropWorldListener} when a block or light value that could affect them changes, and all
+ * crops in a world are woken whenever the sky light level shifts with the time of day. Dormancy is not saved, every
+ * crop starts awake when its chunk loads.
+ */
+public class DormantCropTracker {
+
+    private static final Map<World, WorldDormancy> DORMANCY = new MapMaker().weakKeys().makeMap();
+
+    public static boolean isDormant(World world, BlockPos pos) {
+        WorldDormancy dormancy = DORMANCY.get(world);
+        if (dormancy == null || dormancy.chunks.isEmpty())
+            return false;
+
+        if (dormancy.skylightSubtracted != world.getSkylightSubtracted()) {
+            dormancy.chunks.clear();
+            return false;
+        }
+
+        BitSet chunk = dormancy.chunks.get(getChunkKey(pos));
+        return chunk != null && chunk.get(ChunkSeedStorage.packPosition(pos));
+    }
+
+    public static void setDormant(World world, BlockPos pos) {
+        WorldDormancy dormancy = DORMANCY.get(world);
+        if (dormancy == null) {
+            dormancy = new WorldDormancy();
+            DORMANCY.put(world, dormancy);
+        }
+
+        if (dormancy.chunks.isEmpty())
+            dormancy.skylightSubtracted = world.getSkylightSubtracted();
+
+        long chunkKey = getChunkKey(pos);
+        BitSet chunk = dormancy.chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new BitSet();
+            dormancy.chunks.put(chunkKey, chunk);
+        }
+
+        chunk.set(ChunkSeedStorage.packPosition(pos));
+    }
+
+    public static void wake(World world, BlockPos pos) {
+        WorldDormancy dormancy = DORMANCY.get(world);
+        if (dormancy == null || dormancy.chunks.isEmpty())
+            return;
+
+        long chunkKey = getChunkKey(pos);
+        BitSet chunk = dormancy.chunks.get(chunkKey);
+        if (chunk == null)
+            return;
+
+        chunk.clear(ChunkSeedStorage.packPosition(pos));
+        if (chunk.isEmpty())
+            dormancy.chunks.remove(chunkKey);
+    }
+
+    public static void unloadChunk(World world, int chunkX, int chunkZ) {
+        WorldDormancy dormancy = DORMANCY.get(world);
+        if (dormancy != null)
+            dormancy.chunks.remove(Util.getChunkKey(chunkX, chunkZ));
+    }
+
+    public static void unloadWorld(World world) {
+        DORMANCY.remove(world);
+    }
+
+    private static long getChunkKey(BlockPos pos) {
+        return Util.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    private static class WorldDormancy {
+        private final Map<Long, BitSet> chunks = Maps.newHashMap();
+        private int skylightSubtracted;
+    }
+}
@@ -1,20 +1,40 @@
 package tehnut.resourceful.crops.core.json;
 
-import com.google.gson.*;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
-public abstract class SerializerBase<T> implements JsonSerializer<T>, JsonDeserializer<T> {
+/**
+ * A streaming adapter that reads and writes directly from the JSON stream without building a tree first. Nulls are
+ * handled here so implementations only see actual values.
+ */
+public abstract class SerializerBase<T> extends TypeAdapter<T> {
 
     @Override
-    public T deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        return context.deserialize(json, typeOfT);
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return deserialize(in);
     }
 
     @Override
-    public JsonElement serialize(T src, Type typeOfSrc, JsonSerializationContext context) {
-        return context.serialize(src);
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null)
+            out.nullValue();
+        else
+            serialize(out, value);
     }
 
+    public abstract T deserialize(JsonReader in) throws IOException;
+
+    public abstract void serialize(JsonWriter out, T src) throws IOException;
+
     public abstract Type getType();
 }
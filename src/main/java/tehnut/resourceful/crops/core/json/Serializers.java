@@ -2,23 +2,32 @@ package tehnut.resourceful.crops.core.json;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.JsonToNBT;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
-import net.minecraftforge.oredict.OreDictionary;
 import tehnut.resourceful.crops.ResourcefulCrops;
 import tehnut.resourceful.crops.core.data.GrowthRequirement;
 import tehnut.resourceful.crops.core.data.Output;
 import tehnut.resourceful.crops.core.data.Seed;
 
-import java.awt.*;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.*;
 import java.util.List;
 
+/**
+ * Streaming adapters for every type stored in seed JSONs. Fields may appear in any order and unknown fields are
+ * skipped.
+ */
 public class Serializers {
 
     public static Gson withAll() {
@@ -33,47 +42,127 @@ public class Serializers {
 
     public static final SerializerBase<Seed> SEED = new SerializerBase<Seed>() {
         @Override
-        public Seed deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-            String name = json.getAsJsonObject().get("name").getAsString();
-            int tier = json.getAsJsonObject().get("tier").getAsInt();
-            int craftAmount = json.getAsJsonObject().get("craftAmount").getAsInt();
-            Color color = Color.decode(json.getAsJsonObject().get("color").getAsString());
-            List<ItemStack> inputItems = null;
+        public Seed deserialize(JsonReader in) throws IOException {
+            String name = null;
+            int tier = 0;
+            int craftAmount = 0;
+            Integer color = null;
+            Map<Seed.Part, int[]> tintColors = Maps.newEnumMap(Seed.Part.class);
             String oreName = null;
-            if (json.getAsJsonObject().has("inputOre")) {
-                oreName = json.getAsJsonObject().get("inputOre").getAsString();
-                inputItems = OreDictionary.doesOreNameExist(oreName) ? OreDictionary.getOres(oreName) : Lists.<ItemStack>newArrayList();
-            } else if (json.getAsJsonObject().has("inputItem")) {
-                inputItems = Lists.newArrayList((ItemStack) context.deserialize(json.getAsJsonObject().get("inputItem"), ItemStack.class));
-            } else if (json.getAsJsonObject().has("inputItems")) {
-                inputItems = Lists.newArrayList((ItemStack[]) context.deserialize(json.getAsJsonObject().get("inputItems"), ItemStack[].class));
+            List<ItemStack> inputItems = null;
+            Output[] outputs = null;
+            GrowthRequirement growthRequirement = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (field.equals("name"))
+                    name = in.nextString();
+                else if (field.equals("tier"))
+                    tier = in.nextInt();
+                else if (field.equals("craftAmount"))
+                    craftAmount = in.nextInt();
+                else if (field.equals("color"))
+                    color = readColor(in);
+                else if (field.equals("tintColors")) {
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String partName = in.nextName();
+                        Seed.Part part = Seed.Part.fromName(partName);
+                        if (part == null)
+                            throw new JsonParseException("Unknown tinted part " + partName + ". Expected seed, shard, pouch or crop.");
+
+                        // Null entries leave a layer at its default
+                        List<Integer> partColors = Lists.newArrayList();
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            if (in.peek() == JsonToken.NULL) {
+                                in.nextNull();
+                                partColors.add(-1);
+                            } else {
+                                partColors.add(readColor(in));
+                            }
+                        }
+                        in.endArray();
+                        tintColors.put(part, Ints.toArray(partColors));
+                    }
+                    in.endObject();
+                }
+                else if (field.equals("inputOre"))
+                    oreName = in.nextString();
+                else if (field.equals("inputItem"))
+                    inputItems = Lists.newArrayList(ITEMSTACK.read(in));
+                else if (field.equals("inputItems"))
+                    inputItems = readList(in, ITEMSTACK);
+                else if (field.equals("outputs")) {
+                    List<Output> outputList = readList(in, OUTPUT);
+                    outputs = outputList.toArray(new Output[outputList.size()]);
+                } else if (field.equals("growthRequirement"))
+                    growthRequirement = GROWTH_REQUIREMENT.read(in);
+                else
+                    in.skipValue();
             }
+            in.endObject();
+
+            if (name == null)
+                throw new JsonParseException("Seed is missing a name.");
+            if (color == null)
+                throw new JsonParseException("Seed with name " + name + " does not have a color.");
+            // An ore name takes priority over items, regardless of field order. Its entries are resolved by the seed itself.
+            if (oreName != null)
+                inputItems = Collections.emptyList();
             if (inputItems == null)
                 throw new RuntimeException("Seed with name " + name + " does not have any valid input items.");
-            Output[] outputs = context.deserialize(json.getAsJsonObject().get("outputs"), Output[].class);
-            GrowthRequirement growthRequirement = context.deserialize(json.getAsJsonObject().get("growthRequirement"), GrowthRequirement.class);
 
             Seed seed = new Seed(name, tier, craftAmount, color, inputItems, outputs, growthRequirement);
             seed.setOreName(oreName);
+            for (Map.Entry<Seed.Part, int[]> entry : tintColors.entrySet())
+                seed.setTintColors(entry.getKey(), entry.getValue());
             return seed;
         }
 
         @Override
-        public JsonElement serialize(Seed src, Type typeOfSrc, JsonSerializationContext context) {
-            JsonObject jsonObject = new JsonObject();
-            jsonObject.addProperty("name", src.getName());
-            jsonObject.addProperty("tier", src.getTier());
-            jsonObject.addProperty("craftAmount", src.getCraftAmount());
-            jsonObject.addProperty("color", "#" + Integer.toHexString(src.getColor().getRGB()).substring(2).toUpperCase(Locale.ENGLISH));
-            if (!Strings.isNullOrEmpty(src.getOreName()))
-                jsonObject.addProperty("inputOre", src.getOreName());
-            else if (src.getInputItems().size() == 1)
-                jsonObject.add("inputItem", context.serialize(src.getInputItems().get(0)));
-            else if (src.getInputItems().size() > 1)
-                jsonObject.add("inputItems", context.serialize(src.getInputItems()));
-            jsonObject.add("outputs", context.serialize(src.getOutputs()));
-            jsonObject.add("growthRequirement", context.serialize(src.getGrowthRequirement()));
-            return jsonObject;
+        public void serialize(JsonWriter out, Seed src) throws IOException {
+            out.beginObject();
+            out.name("name").value(src.getName());
+            out.name("tier").value(src.getTier());
+            out.name("craftAmount").value(src.getCraftAmount());
+            out.name("color").value(writeColor(src.getColor()));
+            boolean hasTintColors = false;
+            for (Seed.Part part : Seed.Part.values()) {
+                int[] partColors = src.getTintColors(part);
+                if (partColors == null)
+                    continue;
+
+                if (!hasTintColors) {
+                    out.name("tintColors").beginObject();
+                    hasTintColors = true;
+                }
+                out.name(part.name().toLowerCase(Locale.ENGLISH)).beginArray();
+                for (int tintColor : partColors) {
+                    if (tintColor == -1)
+                        out.nullValue();
+                    else
+                        out.value(writeColor(tintColor));
+                }
+                out.endArray();
+            }
+            if (hasTintColors)
+                out.endObject();
+            if (!Strings.isNullOrEmpty(src.getOreName())) {
+                out.name("inputOre").value(src.getOreName());
+            } else if (src.getInputItems().size() == 1) {
+                out.name("inputItem");
+                ITEMSTACK.write(out, src.getInputItems().get(0));
+            } else if (src.getInputItems().size() > 1) {
+                out.name("inputItems");
+                writeList(out, ITEMSTACK, src.getInputItems());
+            }
+            out.name("outputs");
+            writeList(out, OUTPUT, Arrays.asList(src.getOutputs()));
+            out.name("growthRequirement");
+            GROWTH_REQUIREMENT.write(out, src.getGrowthRequirement());
+            out.endObject();
         }
 
         @Override
@@ -83,18 +172,36 @@ public class Serializers {
     };
     public static final SerializerBase<ResourceLocation> RESOURCE_LOCATION = new SerializerBase<ResourceLocation>() {
         @Override
-        public ResourceLocation deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-            String domain = json.getAsJsonObject().get("domain").getAsString();
-            String path = json.getAsJsonObject().get("path").getAsString();
+        public ResourceLocation deserialize(JsonReader in) throws IOException {
+            // Also accept the plain "domain:path" form
+            if (in.peek() == JsonToken.STRING)
+                return new ResourceLocation(in.nextString());
+
+            String domain = null;
+            String path = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (field.equals("domain"))
+                    domain = in.nextString();
+                else if (field.equals("path"))
+                    path = in.nextString();
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+
+            if (domain == null || path == null)
+                throw new JsonParseException("Resource location is missing a domain or path.");
             return new ResourceLocation(domain, path);
         }
 
         @Override
-        public JsonElement serialize(ResourceLocation src, Type typeOfSrc, JsonSerializationContext context) {
-            JsonObject jsonObject = new JsonObject();
-            jsonObject.addProperty("domain", src.getResourceDomain());
-            jsonObject.addProperty("path", src.getResourcePath());
-            return jsonObject;
+        public void serialize(JsonWriter out, ResourceLocation src) throws IOException {
+            out.beginObject();
+            out.name("domain").value(src.getResourceDomain());
+            out.name("path").value(src.getResourcePath());
+            out.endObject();
         }
 
         @Override
@@ -104,18 +211,32 @@ public class Serializers {
     };
     public static final SerializerBase<ItemStack> ITEMSTACK = new SerializerBase<ItemStack>() {
         @Override
-        public ItemStack deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-            ResourceLocation registryName = context.deserialize(json.getAsJsonObject().get("id"), ResourceLocation.class);
+        public ItemStack deserialize(JsonReader in) throws IOException {
+            ResourceLocation registryName = null;
             int amount = 1;
-            if (json.getAsJsonObject().has("amount"))
-                amount = json.getAsJsonObject().get("amount").getAsInt();
             int meta = 0;
-            if (json.getAsJsonObject().has("meta"))
-                meta = json.getAsJsonObject().get("meta").getAsInt();
+            String nbt = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (field.equals("id"))
+                    registryName = RESOURCE_LOCATION.read(in);
+                else if (field.equals("amount"))
+                    amount = in.nextInt();
+                else if (field.equals("meta"))
+                    meta = in.nextInt();
+                else if (field.equals("nbt"))
+                    nbt = in.nextString();
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+
             ItemStack stack = new ItemStack(ForgeRegistries.ITEMS.getValue(registryName), amount, meta);
             try {
-                if (json.getAsJsonObject().has("nbt"))
-                    stack.setTagCompound(JsonToNBT.getTagFromJson(json.getAsJsonObject().get("nbt").getAsString()));
+                if (nbt != null)
+                    stack.setTagCompound(JsonToNBT.getTagFromJson(nbt));
             } catch (Exception e) {
                 ResourcefulCrops.LOGGER.error("Error parsing NBT JSON for a stack containing {}", registryName);
                 ResourcefulCrops.LOGGER.error(e.getLocalizedMessage());
@@ -124,14 +245,15 @@ public class Serializers {
         }
 
         @Override
-        public JsonElement serialize(ItemStack src, Type typeOfSrc, JsonSerializationContext context) {
-            JsonObject jsonObject = new JsonObject();
-            jsonObject.add("id", context.serialize(src.getItem().getRegistryName()));
-            jsonObject.addProperty("amount", src.stackSize);
-            jsonObject.addProperty("meta", src.getItemDamage());
+        public void serialize(JsonWriter out, ItemStack src) throws IOException {
+            out.beginObject();
+            out.name("id");
+            RESOURCE_LOCATION.write(out, src.getItem().getRegistryName());
+            out.name("amount").value(src.stackSize);
+            out.name("meta").value(src.getItemDamage());
             if (src.hasTagCompound())
-                jsonObject.addProperty("nbt", src.getTagCompound().toString());
-            return jsonObject;
+                out.name("nbt").value(src.getTagCompound().toString());
+            out.endObject();
         }
 
         @Override
@@ -141,15 +263,34 @@ public class Serializers {
     };
     public static final SerializerBase<IBlockState> BLOCKSTATE = new SerializerBase<IBlockState>() {
         @Override
-        public IBlockState deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-            ResourceLocation block = context.deserialize(json.getAsJsonObject().get("id"), ResourceLocation.class);
-            int meta = json.getAsJsonObject().get("meta").getAsInt();
-            return ForgeRegistries.BLOCKS.getValue(block).getStateFromMeta(meta);
+        public IBlockState deserialize(JsonReader in) throws IOException {
+            ResourceLocation block = null;
+            int meta = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (field.equals("id"))
+                    block = RESOURCE_LOCATION.read(in);
+                else if (field.equals("meta"))
+                    meta = in.nextInt();
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+
+            Block stateBlock = block != null ? ForgeRegistries.BLOCKS.getValue(block) : null;
+            if (stateBlock == null)
+                throw new JsonParseException("Unknown block " + block + " in block state.");
+            return stateBlock.getStateFromMeta(meta);
         }
 
         @Override
-        public JsonElement serialize(IBlockState src, Type typeOfSrc, JsonSerializationContext context) {
-            return super.serialize(src, typeOfSrc, context);
+        public void serialize(JsonWriter out, IBlockState src) throws IOException {
+            out.beginObject();
+            out.name("id");
+            RESOURCE_LOCATION.write(out, src.getBlock().getRegistryName());
+            out.name("meta").value(src.getBlock().getMetaFromState(src));
+            out.endObject();
         }
 
         @Override
@@ -159,12 +300,26 @@ public class Serializers {
     };
     public static final SerializerBase<Output> OUTPUT = new SerializerBase<Output>() {
         @Override
-        public Output deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-            ItemStack outputItem = context.deserialize(json.getAsJsonObject().get("item"), ItemStack.class);
-            Output.Shape shape;
+        public Output deserialize(JsonReader in) throws IOException {
+            ItemStack outputItem = null;
+            String shapeText = null;
             String customFormat = null;
-            if (json.getAsJsonObject().has("shape")) {
-                String shapeText = json.getAsJsonObject().get("shape").getAsString();
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (field.equals("item"))
+                    outputItem = ITEMSTACK.read(in);
+                else if (field.equals("shape"))
+                    shapeText = in.nextString();
+                else if (field.equals("customFormat") && in.peek() != JsonToken.NULL)
+                    customFormat = in.nextString();
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+
+            Output.Shape shape;
+            if (shapeText != null) {
                 if (shapeText.equalsIgnoreCase("2x2"))
                     shapeText = Output.Shape.TWO_BY_TWO.name();
                 else if (shapeText.equalsIgnoreCase("3x3"))
@@ -172,26 +327,31 @@ public class Serializers {
                 shape = Output.Shape.valueOf(shapeText.toUpperCase(Locale.ENGLISH));
 
                 if (shape == Output.Shape.CUSTOM) {
-                    customFormat = json.getAsJsonObject().get("customFormat").getAsString();
+                    if (customFormat == null)
+                        throw new JsonParseException("Output with a custom shape is missing its customFormat.");
                     if (customFormat.startsWith("#"))
                         customFormat = customFormat.substring(1, customFormat.length());
                     if (customFormat.endsWith("#"))
                         customFormat = customFormat.substring(0, customFormat.length() - 1);
-                }
+                } else customFormat = null;
 
-            } else shape = Output.Shape.DEFAULT;
+            } else {
+                shape = Output.Shape.DEFAULT;
+                customFormat = null;
+            }
 
             return new Output(outputItem, shape, customFormat);
         }
 
         @Override
-        public JsonElement serialize(Output src, Type typeOfSrc, JsonSerializationContext context) {
-            JsonObject jsonObject = new JsonObject();
-            jsonObject.add("item", context.serialize(src.getItem()));
-            jsonObject.addProperty("shape", src.getShape().name());
+        public void serialize(JsonWriter out, Output src) throws IOException {
+            out.beginObject();
+            out.name("item");
+            ITEMSTACK.write(out, src.getItem());
+            out.name("shape").value(src.getShape().name());
             if (src.getShape() == Output.Shape.CUSTOM)
-                jsonObject.addProperty("customFormat", src.getCustomFormat());
-            return jsonObject;
+                out.name("customFormat").value(src.getCustomFormat());
+            out.endObject();
         }
 
         @Override
@@ -199,12 +359,128 @@ public class Serializers {
             return Output.class;
         }
     };
+    public static final SerializerBase<GrowthRequirement> GROWTH_REQUIREMENT = new SerializerBase<GrowthRequirement>() {
+        @Override
+        public GrowthRequirement deserialize(JsonReader in) throws IOException {
+            int minLight = GrowthRequirement.DEFAULT.getMinLight();
+            int maxLight = GrowthRequirement.DEFAULT.getMaxLight();
+            IBlockState requiredState = null;
+            String requiredOre = null;
+            List<ResourceLocation> biomes = Lists.newArrayList();
+            List<Integer> dimensions = Lists.newArrayList();
+            boolean requiresSky = false;
+            int minStageTicks = 0;
+            int maxStageTicks = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (field.equals("minLight"))
+                    minLight = in.nextInt();
+                else if (field.equals("maxLight"))
+                    maxLight = in.nextInt();
+                else if (field.equals("requiredState"))
+                    requiredState = BLOCKSTATE.read(in);
+                else if (field.equals("requiredOre") && in.peek() != JsonToken.NULL)
+                    requiredOre = in.nextString();
+                else if (field.equals("biomes")) {
+                    in.beginArray();
+                    while (in.hasNext())
+                        biomes.add(new ResourceLocation(in.nextString()));
+                    in.endArray();
+                } else if (field.equals("dimensions")) {
+                    in.beginArray();
+                    while (in.hasNext())
+                        dimensions.add(in.nextInt());
+                    in.endArray();
+                } else if (field.equals("requiresSky"))
+                    requiresSky = in.nextBoolean();
+                else if (field.equals("minStageTicks"))
+                    minStageTicks = in.nextInt();
+                else if (field.equals("maxStageTicks"))
+                    maxStageTicks = in.nextInt();
+                else
+                    in.skipValue();
+            }
+            in.endObject();
+
+            return new GrowthRequirement(minLight, maxLight, requiredState, requiredOre, biomes, dimensions, requiresSky, minStageTicks, maxStageTicks);
+        }
+
+        @Override
+        public void serialize(JsonWriter out, GrowthRequirement src) throws IOException {
+            out.beginObject();
+            out.name("minLight").value(src.getMinLight());
+            out.name("maxLight").value(src.getMaxLight());
+            if (src.getRequiredState() != null) {
+                out.name("requiredState");
+                BLOCKSTATE.write(out, src.getRequiredState());
+            }
+            if (src.getRequiredOre() != null)
+                out.name("requiredOre").value(src.getRequiredOre());
+            if (!src.getBiomes().isEmpty()) {
+                out.name("biomes").beginArray();
+                for (ResourceLocation biome : src.getBiomes())
+                    out.value(biome.toString());
+                out.endArray();
+            }
+            if (!src.getDimensions().isEmpty()) {
+                out.name("dimensions").beginArray();
+                for (int dimension : src.getDimensions())
+                    out.value(dimension);
+                out.endArray();
+            }
+            if (src.requiresSky())
+                out.name("requiresSky").value(true);
+            if (src.getMinStageTicksOverride() > 0)
+                out.name("minStageTicks").value(src.getMinStageTicksOverride());
+            if (src.getMaxStageTicksOverride() > 0)
+                out.name("maxStageTicks").value(src.getMaxStageTicksOverride());
+            out.endObject();
+        }
+
+        @Override
+        public Type getType() {
+            return GrowthRequirement.class;
+        }
+    };
 
     private static final SerializerBase<?>[] ALL_SERIALIZERS = new SerializerBase[] {
             SEED,
             RESOURCE_LOCATION,
             ITEMSTACK,
             BLOCKSTATE,
-            OUTPUT
+            OUTPUT,
+            GROWTH_REQUIREMENT
     };
+
+    private static <T> List<T> readList(JsonReader in, SerializerBase<T> serializer) throws IOException {
+        List<T> list = Lists.newArrayList();
+        in.beginArray();
+        while (in.hasNext())
+            list.add(serializer.read(in));
+        in.endArray();
+        return list;
+    }
+
+    private static <T> void writeList(JsonWriter out, SerializerBase<T> serializer, List<T> list) throws IOException {
+        out.beginArray();
+        for (T value : list)
+            serializer.write(out, value);
+        out.endArray();
+    }
+
+    // Accepts the same formats as java.awt.Color#decode, such as #RRGGBB and 0xRRGGBB, without loading AWT
+    private static int readColor(JsonReader in) throws IOException {
+        String text = in.nextString();
+        try {
+            return Integer.decode(text) & 0xFFFFFF;
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("Invalid color " + text);
+        }
+    }
+
+    private static String writeColor(int color) {
+        return String.format(Locale.ENGLISH, "#%06X", color & 0xFFFFFF);
+    }
 }
@@ -0,0 +1,44 @@
+package tehnut.resourceful.crops.core.recipe;
+
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.world.World;
+import net.minecraftforge.common.ForgeHooks;
+
+import javax.annotation.Nullable;
+
+/**
+ * The only recipe Resourceful Crops adds to the {@link net.minecraft.item.crafting.CraftingManager} for its seed
+ * recipes. Matching is handed off to the {@link SeedRecipeIndex}.
+ */
+public class SeedRecipeDispatcher implements IRecipe {
+
+    @Override
+    public boolean matches(InventoryCrafting inv, World world) {
+        return SeedRecipeIndex.findMatchingRecipe(inv, world) != null;
+    }
+
+    @Nullable
+    @Override
+    public ItemStack getCraftingResult(InventoryCrafting inv) {
+        ShapedSeedRecipe recipe = SeedRecipeIndex.findMatchingRecipe(inv, null);
+        return recipe != null ? recipe.getCraftingResult(inv) : null;
+    }
+
+    @Override
+    public int getRecipeSize() {
+        return ShapedSeedRecipe.MAX_CRAFT_GRID_WIDTH * ShapedSeedRecipe.MAX_CRAFT_GRID_HEIGHT;
+    }
+
+    @Nullable
+    @Override
+    public ItemStack getRecipeOutput() {
+        return null;
+    }
+
+    @Override
+    public ItemStack[] getRemainingItems(InventoryCrafting inv) {
+        return ForgeHooks.defaultRecipeGetRemainingItems(inv);
+    }
+}
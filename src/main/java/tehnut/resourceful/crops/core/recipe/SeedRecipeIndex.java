@@ -0,0 +1,364 @@
+package tehnut.resourceful.crops.core.recipe;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.common.ForgeHooks;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.SeedTable;
+import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.item.ItemResourceful;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds every {@link ShapedSeedRecipe} and finds the one matching a crafting grid without testing all of them. The
+ * recipes are crafted through a single {@link SeedRecipeDispatcher} instead of being added to the
+ * {@link net.minecraft.item.crafting.CraftingManager} one by one.
+ *
+ * Every recipe is bucketed under the keys of one of its ingredients, called its anchor. Ingredients that are seed items
+ * are keyed by their seed key, everything else by their item. The anchor is the ingredient whose keys are shared with
+ * the fewest other recipes, so seed recipes end up under their input item and the rest under their seed. A grid is
+ * then only tested against the recipes in the buckets of the keys it contains, and the first match in registration
+ * order wins, exactly as a linear scan would.
+ *
+ * The buckets are built lazily and thrown away whenever recipes change or an ore is registered, since ore inputs can
+ * gain items. The last match of each grid is kept along with a fingerprint of the grid, so crafting the same thing
+ * repeatedly, such as when shift clicking, only tests one recipe. Callers that craft in bulk can use
+ * {@link #craftAll(InventoryCrafting, World, EntityPlayer, int)} to match only once.
+ */
+public class SeedRecipeIndex {
+
+    private static final List<ShapedSeedRecipe> RECIPES = Lists.newArrayList();
+    private static volatile Buckets buckets;
+    // The last recipe each open crafting grid matched
+    private static final Map<InventoryCrafting, LastMatch> LAST_MATCHES = new MapMaker().weakKeys().makeMap();
+
+    private static final Comparator<Indexed> ORDER = new Comparator<Indexed>() {
+        @Override
+        public int compare(Indexed indexed1, Indexed indexed2) {
+            return ((Integer) indexed1.order).compareTo(indexed2.order);
+        }
+    };
+
+    public static void add(Collection<? extends ShapedSeedRecipe> recipes) {
+        synchronized (RECIPES) {
+            RECIPES.addAll(recipes);
+            buckets = null;
+        }
+    }
+
+    public static void remove(Collection<? extends ShapedSeedRecipe> recipes) {
+        synchronized (RECIPES) {
+            RECIPES.removeAll(recipes);
+            buckets = null;
+        }
+    }
+
+    /**
+     * Forces the buckets to be rebuilt on the next lookup.
+     */
+    public static void invalidate() {
+        buckets = null;
+    }
+
+    /**
+     * @return every recipe in registration order.
+     */
+    public static List<ShapedSeedRecipe> getRecipes() {
+        synchronized (RECIPES) {
+            return ImmutableList.copyOf(RECIPES);
+        }
+    }
+
+    /**
+     * @return the first recipe in registration order that matches the grid, or null if none do.
+     */
+    @Nullable
+    public static ShapedSeedRecipe findMatchingRecipe(InventoryCrafting inv, @Nullable World world) {
+        Buckets current = getBuckets();
+
+        // Grids with the same items, metadata and seeds match the same recipes, so the last match can be reused
+        long fingerprint = getFingerprint(inv);
+        LastMatch last = LAST_MATCHES.get(inv);
+        ShapedSeedRecipe match;
+        if (last != null && last.buckets == current && last.fingerprint == fingerprint && last.recipe.matches(inv, world)) {
+            match = last.recipe;
+        } else {
+            match = lookup(current, inv, world);
+            if (match != null)
+                LAST_MATCHES.put(inv, new LastMatch(current, fingerprint, match));
+            else
+                LAST_MATCHES.remove(inv);
+        }
+
+        if (ResourcefulCrops.DEV_MODE)
+            verify(current, inv, world, match);
+
+        return match;
+    }
+
+    /**
+     * Crafts the matching recipe as many times as the grid allows, up to the given limit, with a single match. Each
+     * craft takes its ingredients and places its remaining items the same way a crafting slot does, and fires the
+     * crafting event. Grids with ingredients that leave a container item behind are only crafted once, as what is left
+     * may no longer match.
+     *
+     * Meant for automation and other mods that would otherwise match the grid once per craft.
+     *
+     * @return the combined output, or null if nothing matches.
+     */
+    @Nullable
+    public static ItemStack craftAll(InventoryCrafting inv, World world, EntityPlayer player, int limit) {
+        ShapedSeedRecipe recipe = findMatchingRecipe(inv, world);
+        if (recipe == null || limit <= 0)
+            return null;
+
+        ItemStack output = recipe.getCraftingResult(inv);
+        int crafts = Math.min(limit, output.getMaxStackSize() / Math.max(output.stackSize, 1));
+        for (int i = 0; i < inv.getSizeInventory() && crafts > 1; i++) {
+            ItemStack stack = inv.getStackInSlot(i);
+            if (stack != null)
+                crafts = stack.getItem().hasContainerItem(stack) ? 1 : Math.min(crafts, stack.stackSize);
+        }
+        crafts = Math.max(crafts, 1);
+
+        for (int craft = 0; craft < crafts; craft++) {
+            FMLCommonHandler.instance().firePlayerCraftingEvent(player, output.copy(), inv);
+
+            ForgeHooks.setCraftingPlayer(player);
+            ItemStack[] remaining = recipe.getRemainingItems(inv);
+            ForgeHooks.setCraftingPlayer(null);
+
+            for (int i = 0; i < remaining.length; i++) {
+                ItemStack stack = inv.getStackInSlot(i);
+                if (stack != null) {
+                    inv.decrStackSize(i, 1);
+                    stack = inv.getStackInSlot(i);
+                }
+
+                ItemStack leftover = remaining[i];
+                if (leftover == null)
+                    continue;
+
+                if (stack == null) {
+                    inv.setInventorySlotContents(i, leftover);
+                } else if (ItemStack.areItemsEqual(stack, leftover) && ItemStack.areItemStackTagsEqual(stack, leftover)) {
+                    leftover.stackSize += stack.stackSize;
+                    inv.setInventorySlotContents(i, leftover);
+                } else if (!player.inventory.addItemStackToInventory(leftover)) {
+                    player.dropItem(leftover, false);
+                }
+            }
+        }
+
+        output.stackSize *= crafts;
+        output.onCrafting(world, player, output.stackSize);
+        return output;
+    }
+
+    @Nullable
+    private static ShapedSeedRecipe lookup(Buckets current, InventoryCrafting inv, @Nullable World world) {
+        Set<Indexed> candidates = Sets.newHashSet(current.unanchored);
+        for (int i = 0; i < inv.getSizeInventory(); i++) {
+            ItemStack stack = inv.getStackInSlot(i);
+            if (stack == null)
+                continue;
+
+            candidates.addAll(current.anchored.get(stack.getItem()));
+            Object seedKey = getSeedKey(stack);
+            if (seedKey != null)
+                candidates.addAll(current.anchored.get(seedKey));
+        }
+
+        if (candidates.isEmpty())
+            return null;
+
+        List<Indexed> sorted = Lists.newArrayList(candidates);
+        Collections.sort(sorted, ORDER);
+        for (Indexed indexed : sorted)
+            if (indexed.recipe.matches(inv, world))
+                return indexed.recipe;
+
+        return null;
+    }
+
+    private static long getFingerprint(InventoryCrafting inv) {
+        SeedTable seedTable = SeedTable.get();
+        long fingerprint = inv.getSizeInventory();
+        for (int i = 0; i < inv.getSizeInventory(); i++) {
+            ItemStack stack = inv.getStackInSlot(i);
+            int item = 0;
+            int meta = 0;
+            int seed = -1;
+            if (stack != null) {
+                item = Item.getIdFromItem(stack.getItem()) + 1;
+                meta = stack.getMetadata();
+                if (stack.getItem() instanceof ItemResourceful && stack.hasTagCompound())
+                    seed = seedTable.getIndex(stack.getTagCompound().getString("seed"));
+            }
+
+            fingerprint = fingerprint * 0x100000001B3L + item;
+            fingerprint = fingerprint * 0x100000001B3L + meta;
+            fingerprint = fingerprint * 0x100000001B3L + seed;
+        }
+
+        return fingerprint;
+    }
+
+    // Compares the result against a full scan. Only done in development environments.
+    private static void verify(Buckets current, InventoryCrafting inv, @Nullable World world, @Nullable ShapedSeedRecipe match) {
+        ShapedSeedRecipe expected = null;
+        for (Indexed indexed : current.all) {
+            if (indexed.recipe.matches(inv, world)) {
+                expected = indexed.recipe;
+                break;
+            }
+        }
+
+        if (expected != match)
+            ResourcefulCrops.LOGGER.error("Seed recipe index found {} but a full scan found {}", match == null ? null : match.getRecipeOutput(), expected == null ? null : expected.getRecipeOutput());
+    }
+
+    private static Buckets getBuckets() {
+        Buckets current = buckets;
+        if (current != null)
+            return current;
+
+        synchronized (RECIPES) {
+            if (buckets == null)
+                buckets = new Buckets(RECIPES);
+            return buckets;
+        }
+    }
+
+    // The keys a slot must contain for the ingredient to match
+    private static Set<Object> getIngredientKeys(Object ingredient) {
+        Set<Object> keys = Sets.newHashSet();
+        if (ingredient instanceof ItemStack) {
+            ItemStack stack = (ItemStack) ingredient;
+            // Seed items are compared by seed, so a matching slot always holds this seed
+            Object seedKey = getSeedKey(stack);
+            keys.add(seedKey != null ? seedKey : stack.getItem());
+        } else if (ingredient instanceof List) {
+            // Lists are compared by item and damage only
+            for (Object stack : (List) ingredient)
+                if (stack instanceof ItemStack)
+                    keys.add(((ItemStack) stack).getItem());
+        }
+
+        return keys;
+    }
+
+    @Nullable
+    private static Object getSeedKey(ItemStack stack) {
+        if (!(stack.getItem() instanceof ItemResourceful))
+            return null;
+
+        Seed seed = ((ItemResourceful) stack.getItem()).getSeed(stack);
+        return seed != null ? seed.getRegistryName() : null;
+    }
+
+    private static class LastMatch {
+
+        private final Buckets buckets;
+        private final long fingerprint;
+        private final ShapedSeedRecipe recipe;
+
+        private LastMatch(Buckets buckets, long fingerprint, ShapedSeedRecipe recipe) {
+            this.buckets = buckets;
+            this.fingerprint = fingerprint;
+            this.recipe = recipe;
+        }
+    }
+
+    private static class Indexed {
+
+        private final ShapedSeedRecipe recipe;
+        private final int order;
+
+        private Indexed(ShapedSeedRecipe recipe, int order) {
+            this.recipe = recipe;
+            this.order = order;
+        }
+    }
+
+    private static class Buckets {
+
+        private final List<Indexed> all;
+        private final ListMultimap<Object, Indexed> anchored;
+        // Recipes without any ingredient, which could match an empty grid
+        private final List<Indexed> unanchored;
+
+        private Buckets(List<ShapedSeedRecipe> recipes) {
+            this.all = Lists.newArrayListWithCapacity(recipes.size());
+            this.anchored = ArrayListMultimap.create();
+            this.unanchored = Lists.newArrayList();
+
+            List<List<Set<Object>>> ingredientKeys = Lists.newArrayListWithCapacity(recipes.size());
+            Map<Object, Integer> frequency = Maps.newHashMap();
+            for (int i = 0; i < recipes.size(); i++) {
+                all.add(new Indexed(recipes.get(i), i));
+
+                List<Set<Object>> recipeKeys = Lists.newArrayList();
+                Set<Object> seen = Sets.newHashSet();
+                for (Object ingredient : recipes.get(i).getInput()) {
+                    if (ingredient == null)
+                        continue;
+
+                    Set<Object> keys = getIngredientKeys(ingredient);
+                    recipeKeys.add(keys);
+                    seen.addAll(keys);
+                }
+                ingredientKeys.add(recipeKeys);
+
+                for (Object key : seen) {
+                    Integer count = frequency.get(key);
+                    frequency.put(key, count != null ? count + 1 : 1);
+                }
+            }
+
+            for (int i = 0; i < recipes.size(); i++) {
+                List<Set<Object>> recipeKeys = ingredientKeys.get(i);
+                if (recipeKeys.isEmpty()) {
+                    unanchored.add(all.get(i));
+                    continue;
+                }
+
+                Set<Object> anchor = null;
+                int anchorCost = Integer.MAX_VALUE;
+                for (Set<Object> keys : recipeKeys) {
+                    int cost = 0;
+                    for (Object key : keys)
+                        cost += frequency.get(key);
+                    if (cost < anchorCost) {
+                        anchor = keys;
+                        anchorCost = cost;
+                    }
+                }
+
+                // An ingredient without any items can never match, so neither can the recipe
+                for (Object key : anchor)
+                    anchored.put(key, all.get(i));
+            }
+
+            ResourcefulCrops.debug("Indexed {} seed recipes under {} keys", recipes.size(), anchored.keySet().size());
+        }
+    }
+}
@@ -6,15 +6,18 @@ import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeHooks;
 import net.minecraftforge.oredict.OreDictionary;
+import tehnut.resourceful.crops.core.SeedTable;
 import tehnut.resourceful.crops.core.data.Seed;
 import tehnut.resourceful.crops.core.data.SeedStack;
 import tehnut.resourceful.crops.item.ItemResourceful;
 
+import javax.annotation.Nullable;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 
 public class ShapedSeedRecipe implements IRecipe {
@@ -28,6 +31,14 @@ public class ShapedSeedRecipe implements IRecipe {
     protected int height = 0;
     protected boolean mirrored = true;
 
+    // Same layout as the input
+    private Matcher[] matchers;
+    // Bounds of the non-empty inputs, -1 if there are none
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
     public ShapedSeedRecipe(ItemStack output, Object... recipe) {
         this.output = output.copy();
 
@@ -111,6 +122,8 @@ public class ShapedSeedRecipe implements IRecipe {
         for (char chr : shape.toCharArray()) {
             input[x++] = itemMap.get(chr);
         }
+
+        compile();
     }
 
     public ShapedSeedRecipe(SeedStack output, Object... recipe) {
@@ -143,60 +156,67 @@ public class ShapedSeedRecipe implements IRecipe {
      */
     @Override
     public boolean matches(InventoryCrafting inv, World world) {
-        for (int x = 0; x <= MAX_CRAFT_GRID_WIDTH - width; x++) {
-            for (int y = 0; y <= MAX_CRAFT_GRID_HEIGHT - height; ++y) {
-                if (checkMatch(inv, x, y, false)) {
-                    return true;
-                }
-
-                if (mirrored && checkMatch(inv, x, y, true)) {
-                    return true;
+        // The occupied part of the grid must be exactly as large as the occupied part of the recipe, which also fixes
+        // where the recipe has to start
+        int gridMinX = MAX_CRAFT_GRID_WIDTH;
+        int gridMinY = MAX_CRAFT_GRID_HEIGHT;
+        int gridMaxX = -1;
+        int gridMaxY = -1;
+        for (int x = 0; x < MAX_CRAFT_GRID_WIDTH; x++) {
+            for (int y = 0; y < MAX_CRAFT_GRID_HEIGHT; y++) {
+                if (inv.getStackInRowAndColumn(x, y) != null) {
+                    gridMinX = Math.min(gridMinX, x);
+                    gridMinY = Math.min(gridMinY, y);
+                    gridMaxX = Math.max(gridMaxX, x);
+                    gridMaxY = Math.max(gridMaxY, y);
                 }
             }
         }
 
+        if (gridMaxX == -1 || maxX == -1)
+            return gridMaxX == -1 && maxX == -1;
+
+        if (gridMaxX - gridMinX != maxX - minX || gridMaxY - gridMinY != maxY - minY)
+            return false;
+
+        int startY = gridMinY - minY;
+        if (startY < 0 || startY > MAX_CRAFT_GRID_HEIGHT - height)
+            return false;
+
+        int startX = gridMinX - minX;
+        if (startX >= 0 && startX <= MAX_CRAFT_GRID_WIDTH - width && checkMatch(inv, startX, startY, false))
+            return true;
+
+        if (mirrored) {
+            startX = gridMinX - (width - 1 - maxX);
+            if (startX >= 0 && startX <= MAX_CRAFT_GRID_WIDTH - width && checkMatch(inv, startX, startY, true))
+                return true;
+        }
+
         return false;
     }
 
-    @SuppressWarnings("unchecked")
     protected boolean checkMatch(InventoryCrafting inv, int startX, int startY, boolean mirror) {
         for (int x = 0; x < MAX_CRAFT_GRID_WIDTH; x++) {
             for (int y = 0; y < MAX_CRAFT_GRID_HEIGHT; y++) {
                 int subX = x - startX;
                 int subY = y - startY;
-                Object target = null;
+                Matcher target = null;
 
                 if (subX >= 0 && subY >= 0 && subX < width && subY < height) {
                     if (mirror) {
-                        target = input[width - subX - 1 + subY * width];
+                        target = matchers[width - subX - 1 + subY * width];
                     } else {
-                        target = input[subX + subY * width];
+                        target = matchers[subX + subY * width];
                     }
                 }
 
                 ItemStack slot = inv.getStackInRowAndColumn(x, y);
 
-                if (target instanceof ItemStack) {
-                    if (((ItemStack) target).getItem() instanceof ItemResourceful) {
-                        Seed seed = ((ItemResourceful) ((ItemStack) target).getItem()).getSeed((ItemStack) target);
-                        if (slot == null || !(slot.getItem() instanceof ItemResourceful) || !((ItemResourceful) slot.getItem()).getSeed(slot).getRegistryName().equals(seed.getRegistryName()))
-                            return false;
-                    }
-                    if (!OreDictionary.itemMatches((ItemStack) target, slot, false)) {
-                        return false;
-                    }
-                } else if (target instanceof List) {
-                    boolean matched = false;
-
-                    Iterator<ItemStack> itr = ((List<ItemStack>) target).iterator();
-                    while (itr.hasNext() && !matched) {
-                        matched = OreDictionary.itemMatches(itr.next(), slot, false);
-                    }
-
-                    if (!matched) {
+                if (target == null) {
+                    if (slot != null)
                         return false;
-                    }
-                } else if (target == null && slot != null) {
+                } else if (!target.matches(slot)) {
                     return false;
                 }
             }
@@ -205,6 +225,90 @@ public class ShapedSeedRecipe implements IRecipe {
         return true;
     }
 
+    // Resolves every input into a matcher up front and finds the occupied bounds of the recipe
+    @SuppressWarnings("unchecked")
+    private void compile() {
+        matchers = new Matcher[input.length];
+        minX = width;
+        minY = height;
+        maxX = -1;
+        maxY = -1;
+        for (int i = 0; i < input.length; i++) {
+            Object target = input[i];
+            if (target instanceof ItemStack)
+                matchers[i] = ((ItemStack) target).getItem() instanceof ItemResourceful ? seedMatcher((ItemStack) target) : itemMatcher((ItemStack) target);
+            else if (target instanceof List)
+                matchers[i] = listMatcher((List<ItemStack>) target);
+
+            if (matchers[i] != null) {
+                minX = Math.min(minX, i % width);
+                minY = Math.min(minY, i / width);
+                maxX = Math.max(maxX, i % width);
+                maxY = Math.max(maxY, i / width);
+            }
+        }
+    }
+
+    private static Matcher itemMatcher(ItemStack target) {
+        final Item item = target.getItem();
+        final int meta = target.getMetadata();
+        return new Matcher() {
+            @Override
+            public boolean matches(@Nullable ItemStack slot) {
+                return slot != null && slot.getItem() == item && (meta == OreDictionary.WILDCARD_VALUE || slot.getMetadata() == meta);
+            }
+        };
+    }
+
+    // Compares the seed key stored on the slot before falling back to a lookup for keys that are not normalized
+    private static Matcher seedMatcher(ItemStack target) {
+        final Matcher itemMatcher = itemMatcher(target);
+        final String key = target.hasTagCompound() ? target.getTagCompound().getString("seed") : "";
+        Seed targetSeed = SeedTable.get().getSeed(key);
+        final ResourceLocation seedKey = targetSeed != null ? targetSeed.getRegistryName() : null;
+        return new Matcher() {
+            @Override
+            public boolean matches(@Nullable ItemStack slot) {
+                if (seedKey == null || !itemMatcher.matches(slot) || !slot.hasTagCompound())
+                    return false;
+
+                String slotKey = slot.getTagCompound().getString("seed");
+                if (slotKey.equals(key))
+                    return true;
+
+                Seed seed = ((ItemResourceful) slot.getItem()).getSeed(slot);
+                return seed != null && seed.getRegistryName().equals(seedKey);
+            }
+        };
+    }
+
+    // The items of a list are checked against a set of item ids first. Ore lists can still grow, so the set is rebuilt
+    // whenever the list size changes.
+    private static Matcher listMatcher(final List<ItemStack> targets) {
+        return new Matcher() {
+            private volatile ItemFilter filter = new ItemFilter(targets);
+
+            @Override
+            public boolean matches(@Nullable ItemStack slot) {
+                if (slot == null)
+                    return false;
+
+                ItemFilter current = filter;
+                if (current.size != targets.size())
+                    filter = current = new ItemFilter(targets);
+                int id = Item.getIdFromItem(slot.getItem());
+                if (id >= 0 && !current.items.get(id))
+                    return false;
+
+                for (int i = 0; i < targets.size(); i++)
+                    if (OreDictionary.itemMatches(targets.get(i), slot, false))
+                        return true;
+
+                return false;
+            }
+        };
+    }
+
     public ShapedSeedRecipe setMirrored(boolean mirror) {
         mirrored = mirror;
         return this;
@@ -225,4 +329,21 @@ public class ShapedSeedRecipe implements IRecipe {
     {
         return ForgeHooks.defaultRecipeGetRemainingItems(inv);
     }
+
+    private interface Matcher {
+        boolean matches(@Nullable ItemStack slot);
+    }
+
+    private static class ItemFilter {
+
+        private final BitSet items = new BitSet();
+        private final int size;
+
+        private ItemFilter(List<ItemStack> targets) {
+            this.size = targets.size();
+            for (ItemStack target : targets)
+                if (target != null && target.getItem() != null && Item.getIdFromItem(target.getItem()) >= 0)
+                    items.set(Item.getIdFromItem(target.getItem()));
+        }
+    }
 }
@@ -0,0 +1,189 @@
+package tehnut.resourceful.crops.core.storage;
+
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds the seed planted at every crop position in a single chunk.
+ *
+ * Each distinct seed key is stored once in a palette. Positions are packed into the upper 16 bits of an int and the
+ * palette index into the lower 16 bits. Entries are kept sorted by position so lookups are a binary search.
+ *
+ * Methods are synchronized as the client reads from chunk render threads.
+ */
+public class ChunkSeedStorage {
+
+    private final List<ResourceLocation> palette = Lists.newArrayList();
+    private int[] entries = new int[8];
+    private int size;
+
+    @Nullable
+    public synchronized ResourceLocation getSeedKey(BlockPos pos) {
+        int index = find(packPosition(pos));
+        return index >= 0 ? palette.get(entries[index] & 0xFFFF) : null;
+    }
+
+    /**
+     * Sets or clears the seed at the given position.
+     *
+     * @return true if the stored value changed.
+     */
+    public synchronized boolean setSeedKey(BlockPos pos, @Nullable ResourceLocation seedKey) {
+        int packedPos = packPosition(pos);
+        int index = find(packedPos);
+
+        if (seedKey == null) {
+            if (index < 0)
+                return false;
+
+            System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int paletteIndex = palette.indexOf(seedKey);
+        if (paletteIndex == -1) {
+            paletteIndex = palette.size();
+            palette.add(seedKey);
+        }
+
+        int entry = packedPos << 16 | paletteIndex;
+        if (index >= 0) {
+            if (entries[index] == entry)
+                return false;
+
+            entries[index] = entry;
+            return true;
+        }
+
+        index = -(index + 1);
+        if (size == entries.length)
+            entries = Arrays.copyOf(entries, size * 2);
+        System.arraycopy(entries, index, entries, index + 1, size - index);
+        entries[index] = entry;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the world positions of every stored crop, given the coordinates of the chunk this storage belongs to.
+     */
+    public synchronized List<BlockPos> getPositions(int chunkX, int chunkZ) {
+        List<BlockPos> positions = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++)
+            positions.add(unpackPosition(chunkX, chunkZ, entries[i] >>> 16));
+        return positions;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void writeToNBT(NBTTagCompound tag) {
+        compact();
+
+        NBTTagList paletteList = new NBTTagList();
+        for (ResourceLocation seedKey : palette)
+            paletteList.appendTag(new NBTTagString(seedKey.toString()));
+
+        tag.setTag("palette", paletteList);
+        tag.setIntArray("crops", Arrays.copyOf(entries, size));
+    }
+
+    public synchronized void readFromNBT(NBTTagCompound tag) {
+        palette.clear();
+        NBTTagList paletteList = tag.getTagList("palette", Constants.NBT.TAG_STRING);
+        for (int i = 0; i < paletteList.tagCount(); i++)
+            palette.add(new ResourceLocation(paletteList.getStringTagAt(i)));
+
+        int[] crops = tag.getIntArray("crops");
+        entries = Arrays.copyOf(crops, Math.max(8, crops.length));
+        size = 0;
+        for (int entry : crops)
+            if ((entry & 0xFFFF) < palette.size())
+                entries[size++] = entry;
+    }
+
+    public synchronized void writeToBuffer(ByteBuf buffer) {
+        compact();
+
+        ByteBufUtils.writeVarInt(buffer, palette.size(), 3);
+        for (ResourceLocation seedKey : palette)
+            ByteBufUtils.writeUTF8String(buffer, seedKey.toString());
+
+        ByteBufUtils.writeVarInt(buffer, size, 3);
+        for (int i = 0; i < size; i++)
+            buffer.writeInt(entries[i]);
+    }
+
+    public synchronized void readFromBuffer(ByteBuf buffer) {
+        palette.clear();
+        int paletteSize = ByteBufUtils.readVarInt(buffer, 3);
+        for (int i = 0; i < paletteSize; i++)
+            palette.add(new ResourceLocation(ByteBufUtils.readUTF8String(buffer)));
+
+        size = ByteBufUtils.readVarInt(buffer, 3);
+        entries = new int[Math.max(8, size)];
+        for (int i = 0; i < size; i++)
+            entries[i] = buffer.readInt();
+    }
+
+    // Drops palette entries that are no longer referenced by any position
+    private void compact() {
+        int[] remap = new int[palette.size()];
+        Arrays.fill(remap, -1);
+        List<ResourceLocation> used = Lists.newArrayList();
+        for (int i = 0; i < size; i++) {
+            int paletteIndex = entries[i] & 0xFFFF;
+            if (remap[paletteIndex] == -1) {
+                remap[paletteIndex] = used.size();
+                used.add(palette.get(paletteIndex));
+            }
+            entries[i] = (entries[i] & 0xFFFF0000) | remap[paletteIndex];
+        }
+
+        palette.clear();
+        palette.addAll(used);
+    }
+
+    // Binary search over the packed positions. Returns -(insertion point + 1) if not found.
+    private int find(int packedPos) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midPos = entries[mid] >>> 16;
+            if (midPos < packedPos)
+                low = mid + 1;
+            else if (midPos > packedPos)
+                high = mid - 1;
+            else
+                return mid;
+        }
+
+        return -(low + 1);
+    }
+
+    public static int packPosition(BlockPos pos) {
+        return (pos.getY() & 0xFF) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+    }
+
+    public static BlockPos unpackPosition(int chunkX, int chunkZ, int packedPos) {
+        return new BlockPos(chunkX << 4 | packedPos & 15, packedPos >>> 8 & 0xFF, chunkZ << 4 | packedPos >>> 4 & 15);
+    }
+}
@@ -0,0 +1,134 @@
+package tehnut.resourceful.crops.core.storage;
+
+import com.google.common.collect.Maps;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.util.Util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A client side cache of the tint of every crop in the client world, grouped by chunk.
+ *
+ * Crop colours are requested for every tinted quad each time a chunk is rebuilt, which happens whenever a crop in it
+ * grows. Looking the seed up each time means a tile entity or chunk storage lookup followed by a seed table lookup, so
+ * the resolved colour is kept here instead until the crop data of that position or chunk changes, or seeds are
+ * reloaded.
+ *
+ * Colours are read from chunk render threads while the client thread invalidates them. A position that changes while a
+ * render thread is resolving it bumps the generation of its chunk, so the stale colour is not stored.
+ */
+public class CropColorCache {
+
+    private static final ConcurrentMap<Long, ChunkColors> CHUNKS = Maps.newConcurrentMap();
+
+    /**
+     * @return the colour of the given tint layer of the crop at the given position, or -1 if it has no seed.
+     */
+    public static int getColor(IBlockAccess blockAccess, BlockPos pos, int tintIndex) {
+        // The crop model only tints layer 0. Other layers come from resource packs and are looked up directly.
+        if (tintIndex != 0) {
+            Seed seed = SeedStorage.getSeed(blockAccess, pos);
+            return seed != null ? seed.getColor(Seed.Part.CROP, tintIndex) : -1;
+        }
+
+        long chunkKey = Util.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4);
+        ChunkColors chunk = CHUNKS.get(chunkKey);
+        if (chunk == null) {
+            chunk = new ChunkColors();
+            ChunkColors existing = CHUNKS.putIfAbsent(chunkKey, chunk);
+            if (existing != null)
+                chunk = existing;
+        }
+
+        int packedPos = ChunkSeedStorage.packPosition(pos);
+        int generation;
+        synchronized (chunk) {
+            int index = chunk.find(packedPos);
+            if (index >= 0)
+                return chunk.colors[index];
+            generation = chunk.generation;
+        }
+
+        // Crops without a seed yet are usually waiting on their seed id, so they are looked up again next time
+        Seed seed = SeedStorage.getSeed(blockAccess, pos);
+        if (seed == null)
+            return -1;
+
+        int color = seed.getColor(Seed.Part.CROP, 0);
+        chunk.put(packedPos, color, generation);
+        return color;
+    }
+
+    /**
+     * Forgets the colour at a position whose crop data has changed.
+     */
+    public static void invalidate(BlockPos pos) {
+        ChunkColors chunk = CHUNKS.get(Util.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunk != null)
+            chunk.remove(ChunkSeedStorage.packPosition(pos));
+    }
+
+    /**
+     * Forgets every colour in a chunk, for when the chunk has been received or unloaded.
+     */
+    public static void invalidateChunk(int chunkX, int chunkZ) {
+        CHUNKS.remove(Util.getChunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Forgets every colour, for when seeds are reloaded or the client world changes.
+     */
+    public static void clear() {
+        CHUNKS.clear();
+    }
+
+    // Packed positions sorted for a binary search, with the colour of each at the same index
+    private static class ChunkColors {
+
+        private int[] positions = new int[16];
+        private int[] colors = new int[16];
+        private int size;
+        private int generation;
+
+        synchronized void put(int packedPos, int color, int expectedGeneration) {
+            if (generation != expectedGeneration)
+                return;
+
+            int index = find(packedPos);
+            if (index >= 0) {
+                colors[index] = color;
+                return;
+            }
+
+            index = -(index + 1);
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                colors = Arrays.copyOf(colors, size * 2);
+            }
+            System.arraycopy(positions, index, positions, index + 1, size - index);
+            System.arraycopy(colors, index, colors, index + 1, size - index);
+            positions[index] = packedPos;
+            colors[index] = color;
+            size++;
+        }
+
+        synchronized void remove(int packedPos) {
+            generation++;
+
+            int index = find(packedPos);
+            if (index < 0)
+                return;
+
+            System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+            System.arraycopy(colors, index + 1, colors, index, size - index - 1);
+            size--;
+        }
+
+        private int find(int packedPos) {
+            return Arrays.binarySearch(positions, 0, size, packedPos);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package tehnut.resourceful.crops.core.storage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import tehnut.resourceful.crops.util.Util;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A server side index of every loaded crop, grouped by chunk and then by seed.
+ *
+ * The index is filled when a chunk loads and kept up to date as crops are planted and broken, so area queries only
+ * touch crops that exist rather than every block in range.
+ */
+public class CropIndex {
+
+    private static final Map<World, Map<Long, ChunkIndex>> INDEX = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Finds the crops within the given radius of a position.
+     *
+     * @param seedKey the seed to look for, or null for crops of any seed.
+     */
+    public static List<BlockPos> findCrops(World world, BlockPos center, int radius, @Nullable ResourceLocation seedKey) {
+        final List<BlockPos> found = Lists.newArrayList();
+        visit(world, center, radius, seedKey, new Visitor() {
+            @Override
+            public void visit(BlockPos pos) {
+                found.add(pos);
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Counts the crops within the given radius of a position.
+     *
+     * @param seedKey the seed to look for, or null for crops of any seed.
+     */
+    public static int countCrops(World world, BlockPos center, int radius, @Nullable ResourceLocation seedKey) {
+        final int[] count = new int[1];
+        visit(world, center, radius, seedKey, new Visitor() {
+            @Override
+            public void visit(BlockPos pos) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    public static void addCrop(World world, BlockPos pos, ResourceLocation seedKey) {
+        if (world.isRemote)
+            return;
+
+        Map<Long, ChunkIndex> worldIndex = getWorldIndex(world);
+        long chunkKey = Util.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4);
+        ChunkIndex chunkIndex = worldIndex.get(chunkKey);
+        if (chunkIndex == null) {
+            chunkIndex = new ChunkIndex();
+            worldIndex.put(chunkKey, chunkIndex);
+        }
+
+        chunkIndex.add(ChunkSeedStorage.packPosition(pos), seedKey);
+    }
+
+    public static void removeCrop(World world, BlockPos pos) {
+        Map<Long, ChunkIndex> worldIndex = INDEX.get(world);
+        if (worldIndex == null)
+            return;
+
+        ChunkIndex chunkIndex = worldIndex.get(Util.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4));
+        if (chunkIndex != null)
+            chunkIndex.remove(ChunkSeedStorage.packPosition(pos));
+    }
+
+    /**
+     * Rebuilds the index for a chunk that has just loaded from whichever storage its crops use.
+     */
+    public static void loadChunk(World world, Chunk chunk) {
+        if (world.isRemote)
+            return;
+
+        unloadChunk(world, chunk.xPosition, chunk.zPosition);
+        for (BlockPos pos : SeedStorage.getCropPositions(world, chunk)) {
+            ResourceLocation seedKey = SeedStorage.getSeedKey(world, pos);
+            if (seedKey != null)
+                addCrop(world, pos, seedKey);
+        }
+    }
+
+    public static void unloadChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, ChunkIndex> worldIndex = INDEX.get(world);
+        if (worldIndex != null)
+            worldIndex.remove(Util.getChunkKey(chunkX, chunkZ));
+    }
+
+    public static void unloadWorld(World world) {
+        INDEX.remove(world);
+    }
+
+    private static void visit(World world, BlockPos center, int radius, @Nullable ResourceLocation seedKey, Visitor visitor) {
+        Map<Long, ChunkIndex> worldIndex = INDEX.get(world);
+        if (worldIndex == null || radius < 0)
+            return;
+
+        long radiusSq = (long) radius * radius;
+        for (int chunkX = (center.getX() - radius) >> 4; chunkX <= (center.getX() + radius) >> 4; chunkX++) {
+            for (int chunkZ = (center.getZ() - radius) >> 4; chunkZ <= (center.getZ() + radius) >> 4; chunkZ++) {
+                ChunkIndex chunkIndex = worldIndex.get(Util.getChunkKey(chunkX, chunkZ));
+                if (chunkIndex == null)
+                    continue;
+
+                if (seedKey != null) {
+                    visitPositions(chunkX, chunkZ, chunkIndex.positions.get(seedKey), center, radiusSq, visitor);
+                } else {
+                    for (PositionList positions : chunkIndex.positions.values())
+                        visitPositions(chunkX, chunkZ, positions, center, radiusSq, visitor);
+                }
+            }
+        }
+    }
+
+    private static void visitPositions(int chunkX, int chunkZ, @Nullable PositionList positions, BlockPos center, long radiusSq, Visitor visitor) {
+        if (positions == null)
+            return;
+
+        for (int i = 0; i < positions.size; i++) {
+            BlockPos pos = ChunkSeedStorage.unpackPosition(chunkX, chunkZ, positions.entries[i]);
+            if (pos.distanceSq(center) <= radiusSq)
+                visitor.visit(pos);
+        }
+    }
+
+    private static Map<Long, ChunkIndex> getWorldIndex(World world) {
+        Map<Long, ChunkIndex> worldIndex = INDEX.get(world);
+        if (worldIndex == null) {
+            worldIndex = Maps.newConcurrentMap();
+            INDEX.put(world, worldIndex);
+        }
+
+        return worldIndex;
+    }
+
+    private interface Visitor {
+        void visit(BlockPos pos);
+    }
+
+    private static class ChunkIndex {
+
+        // Chunks rarely hold more than a few seed types, so removal by position just checks each list
+        private final Map<ResourceLocation, PositionList> positions = Maps.newHashMap();
+
+        void add(int packedPos, ResourceLocation seedKey) {
+            remove(packedPos);
+
+            PositionList list = positions.get(seedKey);
+            if (list == null) {
+                list = new PositionList();
+                positions.put(seedKey, list);
+            }
+
+            list.add(packedPos);
+        }
+
+        void remove(int packedPos) {
+            for (Map.Entry<ResourceLocation, PositionList> entry : positions.entrySet()) {
+                if (entry.getValue().remove(packedPos)) {
+                    if (entry.getValue().size == 0)
+                        positions.remove(entry.getKey());
+                    return;
+                }
+            }
+        }
+    }
+
+    // A sorted set of packed positions
+    private static class PositionList {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int packedPos) {
+            int index = Arrays.binarySearch(entries, 0, size, packedPos);
+            if (index >= 0)
+                return;
+
+            index = -(index + 1);
+            if (size == entries.length)
+                entries = Arrays.copyOf(entries, size * 2);
+            System.arraycopy(entries, index, entries, index + 1, size - index);
+            entries[index] = packedPos;
+            size++;
+        }
+
+        boolean remove(int packedPos) {
+            int index = Arrays.binarySearch(entries, 0, size, packedPos);
+            if (index < 0)
+                return false;
+
+            System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package tehnut.resourceful.crops.core.storage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldSavedData;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraftforge.common.util.Constants;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.network.ResourcefulPacketHandler;
+import tehnut.resourceful.crops.network.SeedIdsPacketProcessor;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-save table of compact numeric ids for seed keys, used by {@link tehnut.resourceful.crops.block.tile.TileSeedContainer}
+ * when saving and syncing.
+ *
+ * Ids are only ever appended, so they stay valid when seed JSONs are added or removed. The server copy is saved with
+ * the world and mirrored to clients as new ids are assigned.
+ */
+public class SeedIdMap extends WorldSavedData {
+
+    public static final String NAME = ResourcefulCrops.MODID + "_seed_ids";
+    private static final SeedIdMap CLIENT = new SeedIdMap(NAME);
+
+    static {
+        CLIENT.remote = true;
+    }
+
+    private final List<ResourceLocation> keys = Lists.newArrayList();
+    private final Map<ResourceLocation, Integer> ids = Maps.newHashMap();
+    private boolean remote;
+
+    public SeedIdMap(String name) {
+        super(name);
+    }
+
+    /**
+     * Gets the id of a seed key, assigning a new one if it has never been seen in this save. The client copy never
+     * assigns ids and returns -1 for unknown keys instead.
+     */
+    public synchronized int getId(ResourceLocation seedKey) {
+        Integer id = ids.get(seedKey);
+        if (id != null)
+            return id;
+
+        if (remote)
+            return -1;
+
+        id = keys.size();
+        keys.add(seedKey);
+        ids.put(seedKey, id);
+
+        markDirty();
+        ResourcefulPacketHandler.INSTANCE.sendToAll(new SeedIdsPacketProcessor(id, Lists.newArrayList(seedKey)));
+        return id;
+    }
+
+    @Nullable
+    public synchronized ResourceLocation getKey(int id) {
+        return id >= 0 && id < keys.size() ? keys.get(id) : null;
+    }
+
+    public synchronized List<ResourceLocation> getKeys() {
+        return Lists.newArrayList(keys);
+    }
+
+    /**
+     * Replaces the ids starting at the given index. Used on the client when receiving ids from the server.
+     */
+    public synchronized void setKeys(int startId, List<ResourceLocation> newKeys) {
+        while (keys.size() > startId)
+            ids.remove(keys.remove(keys.size() - 1));
+
+        for (ResourceLocation seedKey : newKeys) {
+            ids.put(seedKey, keys.size());
+            keys.add(seedKey);
+        }
+    }
+
+    @Override
+    public synchronized void readFromNBT(NBTTagCompound nbt) {
+        List<ResourceLocation> savedKeys = Lists.newArrayList();
+        NBTTagList keyList = nbt.getTagList("keys", Constants.NBT.TAG_STRING);
+        for (int i = 0; i < keyList.tagCount(); i++)
+            savedKeys.add(new ResourceLocation(keyList.getStringTagAt(i)));
+
+        setKeys(0, savedKeys);
+    }
+
+    @Override
+    public synchronized NBTTagCompound writeToNBT(NBTTagCompound compound) {
+        NBTTagList keyList = new NBTTagList();
+        for (ResourceLocation seedKey : keys)
+            keyList.appendTag(new NBTTagString(seedKey.toString()));
+
+        compound.setTag("keys", keyList);
+        return compound;
+    }
+
+    public static SeedIdMap get(World world) {
+        if (world.isRemote)
+            return CLIENT;
+
+        MapStorage storage = world.getMapStorage();
+        SeedIdMap idMap = (SeedIdMap) storage.getOrLoadData(SeedIdMap.class, NAME);
+        if (idMap == null) {
+            idMap = new SeedIdMap(NAME);
+            storage.setData(NAME, idMap);
+        }
+
+        return idMap;
+    }
+
+    public static SeedIdMap getClient() {
+        return CLIENT;
+    }
+}
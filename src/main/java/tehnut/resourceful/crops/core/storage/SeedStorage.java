@@ -0,0 +1,188 @@
+package tehnut.resourceful.crops.core.storage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.block.tile.TileSeedContainer;
+import tehnut.resourceful.crops.core.ConfigHandler;
+import tehnut.resourceful.crops.core.SeedTable;
+import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.growth.DormantCropTracker;
+import tehnut.resourceful.crops.network.ResourcefulPacketHandler;
+import tehnut.resourceful.crops.network.SeedUpdatePacketProcessor;
+import tehnut.resourceful.crops.util.Util;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Central access point for the seed planted at a crop position.
+ *
+ * Depending on {@link ConfigHandler.Storage#useChunkStorage}, new crops either get a {@link TileSeedContainer} or an
+ * entry in the {@link ChunkSeedStorage} of their chunk. Reads check both so crops planted before the mode was changed
+ * keep working.
+ */
+public class SeedStorage {
+
+    private static final Map<World, Map<Long, ChunkSeedStorage>> STORAGE = new MapMaker().weakKeys().makeMap();
+
+    @Nullable
+    public static ResourceLocation getSeedKey(IBlockAccess blockAccess, BlockPos pos) {
+        // Render caches wrap the client world. Anything else that is not a world only has the tile entity lookup.
+        World world = null;
+        if (blockAccess instanceof World)
+            world = (World) blockAccess;
+        else if (FMLCommonHandler.instance().getEffectiveSide().isClient())
+            world = ResourcefulCrops.PROXY.getClientWorld();
+        if (world != null) {
+            ChunkSeedStorage storage = getChunkStorage(world, pos.getX() >> 4, pos.getZ() >> 4);
+            if (storage != null) {
+                ResourceLocation seedKey = storage.getSeedKey(pos);
+                if (seedKey != null)
+                    return seedKey;
+            }
+        }
+
+        TileSeedContainer seedContainer = Util.getSeedContainer(blockAccess, pos);
+        return seedContainer != null ? seedContainer.getSeedKey() : null;
+    }
+
+    @Nullable
+    public static Seed getSeed(IBlockAccess blockAccess, BlockPos pos) {
+        ResourceLocation seedKey = getSeedKey(blockAccess, pos);
+        return SeedTable.get().getSeed(seedKey);
+    }
+
+    /**
+     * Stores the seed for a crop that has just been placed at the given position.
+     */
+    public static void setSeedKey(World world, BlockPos pos, ResourceLocation seedKey) {
+        CropIndex.addCrop(world, pos, seedKey);
+        if (world.isRemote)
+            CropColorCache.invalidate(pos);
+
+        if (!ConfigHandler.storage.useChunkStorage) {
+            // Assign the id up front so clients learn it before the tile entity is synced
+            if (!world.isRemote)
+                SeedIdMap.get(world).getId(seedKey);
+
+            TileSeedContainer seedContainer = Util.getSeedContainer(world, pos);
+            if (seedContainer == null)
+                world.setTileEntity(pos, new TileSeedContainer(seedKey));
+            else
+                seedContainer.setSeedKey(seedKey);
+            return;
+        }
+
+        if (getOrCreateChunkStorage(world, pos.getX() >> 4, pos.getZ() >> 4).setSeedKey(pos, seedKey))
+            onChanged(world, pos, seedKey);
+    }
+
+    /**
+     * Removes any seed stored in chunk storage for the given position. Tile entities are removed by the world itself.
+     */
+    public static void removeSeed(World world, BlockPos pos) {
+        CropIndex.removeCrop(world, pos);
+        if (world.isRemote)
+            CropColorCache.invalidate(pos);
+
+        ChunkSeedStorage storage = getChunkStorage(world, pos.getX() >> 4, pos.getZ() >> 4);
+        if (storage != null && storage.setSeedKey(pos, null))
+            onChanged(world, pos, null);
+    }
+
+    /**
+     * @return the position of every crop with a stored seed in the given chunk, from either storage mode.
+     */
+    public static List<BlockPos> getCropPositions(World world, Chunk chunk) {
+        List<BlockPos> positions = Lists.newArrayList();
+        ChunkSeedStorage storage = getChunkStorage(world, chunk.xPosition, chunk.zPosition);
+        if (storage != null)
+            positions.addAll(storage.getPositions(chunk.xPosition, chunk.zPosition));
+
+        for (TileEntity tile : chunk.getTileEntityMap().values())
+            if (tile instanceof TileSeedContainer && (storage == null || storage.getSeedKey(tile.getPos()) == null))
+                positions.add(tile.getPos());
+
+        return positions;
+    }
+
+    public static boolean hasCrops(World world, Chunk chunk) {
+        ChunkSeedStorage storage = getChunkStorage(world, chunk.xPosition, chunk.zPosition);
+        if (storage != null && !storage.isEmpty())
+            return true;
+
+        for (TileEntity tile : chunk.getTileEntityMap().values())
+            if (tile instanceof TileSeedContainer)
+                return true;
+
+        return false;
+    }
+
+    @Nullable
+    public static ChunkSeedStorage getChunkStorage(World world, int chunkX, int chunkZ) {
+        Map<Long, ChunkSeedStorage> worldStorage = STORAGE.get(world);
+        return worldStorage != null ? worldStorage.get(Util.getChunkKey(chunkX, chunkZ)) : null;
+    }
+
+    public static ChunkSeedStorage getOrCreateChunkStorage(World world, int chunkX, int chunkZ) {
+        Map<Long, ChunkSeedStorage> worldStorage = getWorldStorage(world);
+        long chunkKey = Util.getChunkKey(chunkX, chunkZ);
+        ChunkSeedStorage storage = worldStorage.get(chunkKey);
+        if (storage == null) {
+            storage = new ChunkSeedStorage();
+            worldStorage.put(chunkKey, storage);
+        }
+
+        return storage;
+    }
+
+    public static void setChunkStorage(World world, int chunkX, int chunkZ, @Nullable ChunkSeedStorage storage) {
+        if (storage == null)
+            unloadChunk(world, chunkX, chunkZ);
+        else
+            getWorldStorage(world).put(Util.getChunkKey(chunkX, chunkZ), storage);
+    }
+
+    public static void unloadChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, ChunkSeedStorage> worldStorage = STORAGE.get(world);
+        if (worldStorage != null)
+            worldStorage.remove(Util.getChunkKey(chunkX, chunkZ));
+    }
+
+    public static void unloadWorld(World world) {
+        STORAGE.remove(world);
+    }
+
+    private static Map<Long, ChunkSeedStorage> getWorldStorage(World world) {
+        Map<Long, ChunkSeedStorage> worldStorage = STORAGE.get(world);
+        if (worldStorage == null) {
+            worldStorage = Maps.newConcurrentMap();
+            STORAGE.put(world, worldStorage);
+        }
+
+        return worldStorage;
+    }
+
+    private static void onChanged(World world, BlockPos pos, @Nullable ResourceLocation seedKey) {
+        if (world.isRemote)
+            return;
+
+        DormantCropTracker.wake(world, pos);
+        world.getChunkFromBlockCoords(pos).setChunkModified();
+        PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(pos.getX() >> 4, pos.getZ() >> 4);
+        if (entry != null)
+            entry.sendPacket(ResourcefulPacketHandler.INSTANCE.getPacketFrom(new SeedUpdatePacketProcessor(pos, seedKey)));
+    }
+}
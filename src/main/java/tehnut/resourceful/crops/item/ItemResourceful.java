@@ -1,5 +1,6 @@
 package tehnut.resourceful.crops.item;
 
+import com.google.common.collect.Maps;
 import net.minecraft.creativetab.CreativeTabs;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.Item;
@@ -12,15 +13,18 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import tehnut.resourceful.crops.ResourcefulCrops;
 import tehnut.resourceful.crops.core.data.Seed;
-import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.SeedTable;
 import tehnut.resourceful.crops.core.data.SeedStack;
 import tehnut.resourceful.crops.util.Util;
 
 import java.util.List;
+import java.util.Map;
 
 public class ItemResourceful extends Item {
 
     private final String base;
+    // One stack per seed, copied whenever a stack is handed out
+    private final Map<ResourceLocation, ItemStack> prototypes = Maps.newConcurrentMap();
 
     public ItemResourceful(String base) {
         setUnlocalizedName(ResourcefulCrops.MODID + "." + base);
@@ -33,7 +37,7 @@ public class ItemResourceful extends Item {
     @SideOnly(Side.CLIENT)
     @Override
     public void getSubItems(Item itemIn, CreativeTabs tab, List<ItemStack> subItems) {
-        for (Seed seed : ModObjects.SEEDS.getValues())
+        for (Seed seed : SeedTable.get().getSeeds())
             subItems.add(getResourcefulStack(itemIn, seed.getRegistryName()));
     }
 
@@ -72,7 +76,7 @@ public class ItemResourceful extends Item {
         if (!stack.hasTagCompound() || !stack.getTagCompound().hasKey("seed"))
             return null;
 
-        return ModObjects.SEEDS.getValue(new ResourceLocation(stack.getTagCompound().getString("seed")));
+        return SeedTable.get().getSeed(stack.getTagCompound().getString("seed"));
     }
 
     public static ItemStack getResourcefulStack(Item item, ResourceLocation key) {
@@ -80,16 +84,42 @@ public class ItemResourceful extends Item {
     }
 
     public static ItemStack getResourcefulStack(Item item, ResourceLocation key, int amount) {
-        return getResourcefulStack(new SeedStack((ItemResourceful) item, key, amount));
+        return ((ItemResourceful) item).getStack(key, amount);
     }
 
     public static ItemStack getResourcefulStack(SeedStack seedStack) {
-        String registryName = "invalid";
-        if (seedStack.getSeed() != null)
-          registryName = seedStack.getSeed().getRegistryName().toString();
-        ItemStack stack = new ItemStack(seedStack.getType(), seedStack.getAmount(), 0);
+        return seedStack.getType().getStack(seedStack.getSeedKey(), seedStack.getAmount());
+    }
+
+    /**
+     * @return a new stack of this item for the given seed. Stacks for seeds that do not exist are marked invalid.
+     */
+    public ItemStack getStack(ResourceLocation seedKey, int amount) {
+        ItemStack prototype = prototypes.get(seedKey);
+        if (prototype == null) {
+            Seed seed = SeedTable.get().getSeed(seedKey);
+            prototype = createStack(seed != null ? seed.getRegistryName().toString() : "invalid");
+            // Seeds added later, eg by a reload, must not be stuck with the invalid stack
+            if (seed != null)
+                prototypes.put(seedKey, prototype);
+        }
+
+        ItemStack stack = prototype.copy();
+        stack.stackSize = amount;
+        return stack;
+    }
+
+    /**
+     * Forgets every cached stack, for when seeds are reloaded. Removed seeds must get the invalid stack again.
+     */
+    public void clearPrototypes() {
+        prototypes.clear();
+    }
+
+    private ItemStack createStack(String seedKey) {
+        ItemStack stack = new ItemStack(this, 1, 0);
         stack.setTagCompound(new NBTTagCompound());
-        stack.getTagCompound().setString("seed", registryName);
+        stack.getTagCompound().setString("seed", seedKey);
         return stack;
     }
 }
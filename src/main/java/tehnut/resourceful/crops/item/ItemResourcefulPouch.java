@@ -11,10 +11,9 @@ import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.common.EnumPlantType;
 import net.minecraftforge.common.IPlantable;
-import tehnut.resourceful.crops.block.tile.TileSeedContainer;
 import tehnut.resourceful.crops.core.data.Seed;
 import tehnut.resourceful.crops.core.ModObjects;
-import tehnut.resourceful.crops.util.Util;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
 
 public class ItemResourcefulPouch extends ItemResourceful implements IPlantable {
 
@@ -36,10 +35,7 @@ public class ItemResourcefulPouch extends ItemResourceful implements IPlantable
                 IBlockState worldState = world.getBlockState(settablePos);
                 if (player.canPlayerEdit(settablePos.up(), facing, stack) && worldState.getBlock().canSustainPlant(worldState, world, settablePos, EnumFacing.UP, this) && world.isAirBlock(settablePos.up())) {
                     world.setBlockState(settablePos.up(), ModObjects.CROP.getDefaultState());
-                    if (Util.getSeedContainer(world, settablePos.up()) == null)
-                        world.setTileEntity(settablePos.up(), new TileSeedContainer(seed.getRegistryName()));
-                    else
-                        Util.getSeedContainer(world, settablePos.up());
+                    SeedStorage.setSeedKey(world, settablePos.up(), seed.getRegistryName());
                     flag = true;
                 }
             }
@@ -11,10 +11,9 @@ import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import net.minecraftforge.common.EnumPlantType;
 import net.minecraftforge.common.IPlantable;
-import tehnut.resourceful.crops.block.tile.TileSeedContainer;
 import tehnut.resourceful.crops.core.data.Seed;
 import tehnut.resourceful.crops.core.ModObjects;
-import tehnut.resourceful.crops.util.Util;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
 
 public class ItemResourcefulSeed extends ItemResourceful implements IPlantable {
 
@@ -28,10 +27,7 @@ public class ItemResourcefulSeed extends ItemResourceful implements IPlantable {
         IBlockState worldState = world.getBlockState(pos);
         if (seed != null && facing == EnumFacing.UP && player.canPlayerEdit(pos.offset(facing), facing, stack) && worldState.getBlock().canSustainPlant(worldState, world, pos, EnumFacing.UP, this) && world.isAirBlock(pos.up())) {
             world.setBlockState(pos.up(), ModObjects.CROP.getDefaultState());
-            if (Util.getSeedContainer(world, pos.up()) == null)
-                world.setTileEntity(pos.up(), new TileSeedContainer(seed.getRegistryName()));
-            else
-                Util.getSeedContainer(world, pos.up()).setSeedKey(seed.getRegistryName());
+            SeedStorage.setSeedKey(world, pos.up(), seed.getRegistryName());
             if (!player.capabilities.isCreativeMode)
                 player.inventory.decrStackSize(player.inventory.currentItem, 1);
             return EnumActionResult.SUCCESS;
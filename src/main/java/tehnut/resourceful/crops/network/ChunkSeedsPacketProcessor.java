@@ -0,0 +1,63 @@
+package tehnut.resourceful.crops.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.storage.ChunkSeedStorage;
+import tehnut.resourceful.crops.core.storage.CropColorCache;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
+
+/**
+ * Sends the full {@link ChunkSeedStorage} of a chunk to a player that has started watching it.
+ */
+public class ChunkSeedsPacketProcessor implements IMessage, IMessageHandler<ChunkSeedsPacketProcessor, IMessage> {
+
+    private int chunkX;
+    private int chunkZ;
+    private ChunkSeedStorage storage;
+
+    public ChunkSeedsPacketProcessor() {
+
+    }
+
+    public ChunkSeedsPacketProcessor(int chunkX, int chunkZ, ChunkSeedStorage storage) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.storage = storage;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        chunkX = buf.readInt();
+        chunkZ = buf.readInt();
+        storage = new ChunkSeedStorage();
+        storage.readFromBuffer(buf);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeInt(chunkX);
+        buf.writeInt(chunkZ);
+        storage.writeToBuffer(buf);
+    }
+
+    @Override
+    public IMessage onMessage(final ChunkSeedsPacketProcessor message, MessageContext ctx) {
+        ResourcefulCrops.PROXY.scheduleClientTask(new Runnable() {
+            @Override
+            public void run() {
+                World world = ResourcefulCrops.PROXY.getClientWorld();
+                if (world == null)
+                    return;
+
+                SeedStorage.setChunkStorage(world, message.chunkX, message.chunkZ, message.storage.isEmpty() ? null : message.storage);
+                CropColorCache.invalidateChunk(message.chunkX, message.chunkZ);
+                world.markBlockRangeForRenderUpdate(message.chunkX << 4, 0, message.chunkZ << 4, (message.chunkX << 4) + 15, 255, (message.chunkZ << 4) + 15);
+            }
+        });
+        return null;
+    }
+}
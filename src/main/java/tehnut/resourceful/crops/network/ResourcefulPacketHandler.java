@@ -0,0 +1,18 @@
+package tehnut.resourceful.crops.network;
+
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import net.minecraftforge.fml.relauncher.Side;
+import tehnut.resourceful.crops.ResourcefulCrops;
+
+public class ResourcefulPacketHandler {
+
+    public static final SimpleNetworkWrapper INSTANCE = NetworkRegistry.INSTANCE.newSimpleChannel(ResourcefulCrops.MODID);
+
+    public static void init() {
+        INSTANCE.registerMessage(ChunkSeedsPacketProcessor.class, ChunkSeedsPacketProcessor.class, 0, Side.CLIENT);
+        INSTANCE.registerMessage(SeedUpdatePacketProcessor.class, SeedUpdatePacketProcessor.class, 1, Side.CLIENT);
+        INSTANCE.registerMessage(SeedIdsPacketProcessor.class, SeedIdsPacketProcessor.class, 2, Side.CLIENT);
+        INSTANCE.registerMessage(SeedReloadPacketProcessor.class, SeedReloadPacketProcessor.class, 3, Side.CLIENT);
+    }
+}
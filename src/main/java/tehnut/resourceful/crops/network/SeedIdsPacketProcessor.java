@@ -0,0 +1,59 @@
+package tehnut.resourceful.crops.network;
+
+import com.google.common.collect.Lists;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.storage.SeedIdMap;
+
+import java.util.List;
+
+/**
+ * Mirrors the server's {@link SeedIdMap} to the client. Sent in full on login and for every newly assigned id after.
+ */
+public class SeedIdsPacketProcessor implements IMessage, IMessageHandler<SeedIdsPacketProcessor, IMessage> {
+
+    private int startId;
+    private List<ResourceLocation> seedKeys;
+
+    public SeedIdsPacketProcessor() {
+
+    }
+
+    public SeedIdsPacketProcessor(int startId, List<ResourceLocation> seedKeys) {
+        this.startId = startId;
+        this.seedKeys = seedKeys;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        startId = ByteBufUtils.readVarInt(buf, 5);
+        int count = ByteBufUtils.readVarInt(buf, 5);
+        seedKeys = Lists.newArrayListWithCapacity(count);
+        for (int i = 0; i < count; i++)
+            seedKeys.add(new ResourceLocation(ByteBufUtils.readUTF8String(buf)));
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        ByteBufUtils.writeVarInt(buf, startId, 5);
+        ByteBufUtils.writeVarInt(buf, seedKeys.size(), 5);
+        for (ResourceLocation seedKey : seedKeys)
+            ByteBufUtils.writeUTF8String(buf, seedKey.toString());
+    }
+
+    @Override
+    public IMessage onMessage(final SeedIdsPacketProcessor message, MessageContext ctx) {
+        ResourcefulCrops.PROXY.scheduleClientTask(new Runnable() {
+            @Override
+            public void run() {
+                SeedIdMap.getClient().setKeys(message.startId, message.seedKeys);
+            }
+        });
+        return null;
+    }
+}
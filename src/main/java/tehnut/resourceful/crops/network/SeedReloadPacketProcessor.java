@@ -0,0 +1,91 @@
+package tehnut.resourceful.crops.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.Gson;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.SeedReloader;
+import tehnut.resourceful.crops.core.data.Seed;
+import tehnut.resourceful.crops.core.json.Serializers;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends seeds that were changed or removed by {@link SeedReloader} to clients, either as they are reloaded or all at
+ * once when a player logs in. Changed seeds are sent as JSON.
+ */
+public class SeedReloadPacketProcessor implements IMessage, IMessageHandler<SeedReloadPacketProcessor, IMessage> {
+
+    private Map<ResourceLocation, String> changed;
+    private List<ResourceLocation> removed;
+
+    public SeedReloadPacketProcessor() {
+
+    }
+
+    public SeedReloadPacketProcessor(Map<ResourceLocation, String> changed, List<ResourceLocation> removed) {
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        int changedCount = ByteBufUtils.readVarInt(buf, 5);
+        changed = Maps.newLinkedHashMap();
+        for (int i = 0; i < changedCount; i++)
+            changed.put(new ResourceLocation(ByteBufUtils.readUTF8String(buf)), ByteBufUtils.readUTF8String(buf));
+
+        int removedCount = ByteBufUtils.readVarInt(buf, 5);
+        removed = Lists.newArrayListWithCapacity(removedCount);
+        for (int i = 0; i < removedCount; i++)
+            removed.add(new ResourceLocation(ByteBufUtils.readUTF8String(buf)));
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        ByteBufUtils.writeVarInt(buf, changed.size(), 5);
+        for (Map.Entry<ResourceLocation, String> entry : changed.entrySet()) {
+            ByteBufUtils.writeUTF8String(buf, entry.getKey().toString());
+            ByteBufUtils.writeUTF8String(buf, entry.getValue());
+        }
+
+        ByteBufUtils.writeVarInt(buf, removed.size(), 5);
+        for (ResourceLocation seedKey : removed)
+            ByteBufUtils.writeUTF8String(buf, seedKey.toString());
+    }
+
+    @Override
+    public IMessage onMessage(final SeedReloadPacketProcessor message, MessageContext ctx) {
+        ResourcefulCrops.PROXY.scheduleClientTask(new Runnable() {
+            @Override
+            public void run() {
+                // The integrated server shares the seed table with us and has already applied the changes
+                if (FMLCommonHandler.instance().getMinecraftServerInstance() == null) {
+                    Gson gson = Serializers.withAll();
+                    Map<ResourceLocation, Seed> changedSeeds = Maps.newLinkedHashMap();
+                    for (Map.Entry<ResourceLocation, String> entry : message.changed.entrySet()) {
+                        Seed seed = gson.fromJson(entry.getValue(), Seed.class);
+                        if (seed == null)
+                            continue;
+
+                        seed.setRegistryName(entry.getKey());
+                        changedSeeds.put(entry.getKey(), seed);
+                    }
+
+                    SeedReloader.applyRemoteChanges(changedSeeds, message.removed);
+                }
+
+                ResourcefulCrops.PROXY.onSeedsReloaded();
+            }
+        });
+        return null;
+    }
+}
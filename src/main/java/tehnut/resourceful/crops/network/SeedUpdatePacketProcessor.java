@@ -0,0 +1,68 @@
+package tehnut.resourceful.crops.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.core.storage.CropColorCache;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
+
+import javax.annotation.Nullable;
+
+/**
+ * Sends a single changed position of a {@link tehnut.resourceful.crops.core.storage.ChunkSeedStorage} to the players
+ * watching its chunk. An empty key clears the position.
+ */
+public class SeedUpdatePacketProcessor implements IMessage, IMessageHandler<SeedUpdatePacketProcessor, IMessage> {
+
+    private BlockPos pos;
+    @Nullable
+    private ResourceLocation seedKey;
+
+    public SeedUpdatePacketProcessor() {
+
+    }
+
+    public SeedUpdatePacketProcessor(BlockPos pos, @Nullable ResourceLocation seedKey) {
+        this.pos = pos;
+        this.seedKey = seedKey;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        pos = BlockPos.fromLong(buf.readLong());
+        String key = ByteBufUtils.readUTF8String(buf);
+        seedKey = key.isEmpty() ? null : new ResourceLocation(key);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeLong(pos.toLong());
+        ByteBufUtils.writeUTF8String(buf, seedKey == null ? "" : seedKey.toString());
+    }
+
+    @Override
+    public IMessage onMessage(final SeedUpdatePacketProcessor message, MessageContext ctx) {
+        ResourcefulCrops.PROXY.scheduleClientTask(new Runnable() {
+            @Override
+            public void run() {
+                World world = ResourcefulCrops.PROXY.getClientWorld();
+                if (world == null)
+                    return;
+
+                if (message.seedKey == null)
+                    SeedStorage.removeSeed(world, message.pos);
+                else
+                    SeedStorage.getOrCreateChunkStorage(world, message.pos.getX() >> 4, message.pos.getZ() >> 4).setSeedKey(message.pos, message.seedKey);
+                CropColorCache.invalidate(message.pos);
+                world.markBlockRangeForRenderUpdate(message.pos, message.pos);
+            }
+        });
+        return null;
+    }
+}
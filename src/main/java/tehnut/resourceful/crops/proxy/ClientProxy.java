@@ -10,14 +10,14 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
 import net.minecraftforge.client.model.ModelLoader;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
-import tehnut.resourceful.crops.block.tile.TileSeedContainer;
 import tehnut.resourceful.crops.core.data.Seed;
 import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.storage.CropColorCache;
 import tehnut.resourceful.crops.item.ItemResourceful;
-import tehnut.resourceful.crops.util.Util;
 
 import javax.annotation.Nullable;
 
@@ -57,10 +57,14 @@ public class ClientProxy extends CommonProxy {
             @Override
             public int getColorFromItemstack(ItemStack stack, int tintIndex) {
                 Seed seed = ((ItemResourceful) stack.getItem()).getSeed(stack);
-                if (seed == null || (stack.getItem() == ModObjects.POUCH && tintIndex != 1))
+                if (seed == null)
                     return -1;
 
-                return seed.getColor().getRGB();
+                // The pouch itself keeps its own colors unless a layer is set explicitly
+                if (stack.getItem() == ModObjects.POUCH)
+                    return tintIndex == 1 ? seed.getColor(Seed.Part.POUCH, tintIndex) : seed.getTintColor(Seed.Part.POUCH, tintIndex);
+
+                return seed.getColor(stack.getItem() == ModObjects.SHARD ? Seed.Part.SHARD : Seed.Part.SEED, tintIndex);
             }
         }, ModObjects.SEED, ModObjects.POUCH, ModObjects.SHARD);
 
@@ -69,15 +73,8 @@ public class ClientProxy extends CommonProxy {
             public int colorMultiplier(IBlockState state, @Nullable IBlockAccess blockAccess, @Nullable BlockPos pos, int tintIndex) {
                 if (blockAccess == null || pos == null)
                     return -1;
-                TileSeedContainer seedContainer = Util.getSeedContainer(blockAccess, pos);
-                if (seedContainer == null)
-                    return -1;
-
-                Seed seed = ModObjects.SEEDS.getValue(seedContainer.getSeedKey());
-                if (seed == null)
-                    return -1;
 
-                return seed.getColor().getRGB();
+                return CropColorCache.getColor(blockAccess, pos, tintIndex);
             }
         }, ModObjects.CROP);
     }
@@ -86,4 +83,22 @@ public class ClientProxy extends CommonProxy {
     public void postInit() {
         super.postInit();
     }
+
+    @Override
+    public World getClientWorld() {
+        return Minecraft.getMinecraft().theWorld;
+    }
+
+    @Override
+    public void scheduleClientTask(Runnable task) {
+        Minecraft.getMinecraft().addScheduledTask(task);
+    }
+
+    @Override
+    public void onSeedsReloaded() {
+        // Crop colours are baked into the chunk meshes
+        CropColorCache.clear();
+        if (Minecraft.getMinecraft().theWorld != null)
+            Minecraft.getMinecraft().renderGlobal.loadRenderers();
+    }
 }
@@ -1,8 +1,11 @@
 package tehnut.resourceful.crops.proxy;
 
+import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
 import tehnut.resourceful.crops.util.EventHandler;
 
+import javax.annotation.Nullable;
+
 public class CommonProxy {
 
     public void preInit() {
@@ -16,4 +19,17 @@ public class CommonProxy {
     public void postInit() {
 
     }
+
+    @Nullable
+    public World getClientWorld() {
+        return null;
+    }
+
+    public void scheduleClientTask(Runnable task) {
+
+    }
+
+    public void onSeedsReloaded() {
+
+    }
 }
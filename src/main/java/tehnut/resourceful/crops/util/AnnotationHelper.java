@@ -38,7 +38,10 @@ public class AnnotationHelper {
                 Object compat = asmClass.newInstance();
 
                 if (compat instanceof ICompatibility) {
+                    long start = StartupTimer.start();
                     ((ICompatibility) compat).loadCompatibility();
+                    StartupTimer.end("init.compat." + modid, start);
+                    StartupTimer.count("compatModules", 1);
                     ResourcefulCrops.debug("Loaded compatibility for plugin {}", modid);
                 } else {
                     throw new RuntimeException("[" + ResourcefulCrops.MODID + "] Class annoted with @Compatibility does not implement ICompatibility");
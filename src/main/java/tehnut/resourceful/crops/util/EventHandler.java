@@ -1,14 +1,192 @@
 package tehnut.resourceful.crops.util;
 
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.event.entity.player.BonemealEvent;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+import net.minecraftforge.oredict.OreDictionary;
+import tehnut.resourceful.crops.ResourcefulCrops;
+import tehnut.resourceful.crops.block.BlockResourcefulCrop;
+import tehnut.resourceful.crops.block.tile.TileSeedContainer;
+import tehnut.resourceful.crops.core.ConfigHandler;
 import tehnut.resourceful.crops.core.ModObjects;
+import tehnut.resourceful.crops.core.SeedReloader;
+import tehnut.resourceful.crops.core.data.OreInputs;
+import tehnut.resourceful.crops.core.growth.CatchUpGrowth;
+import tehnut.resourceful.crops.core.growth.CropWorldListener;
+import tehnut.resourceful.crops.core.growth.DormantCropTracker;
+import tehnut.resourceful.crops.core.recipe.SeedRecipeIndex;
+import tehnut.resourceful.crops.core.storage.ChunkSeedStorage;
+import tehnut.resourceful.crops.core.storage.CropColorCache;
+import tehnut.resourceful.crops.core.storage.CropIndex;
+import tehnut.resourceful.crops.core.storage.SeedIdMap;
+import tehnut.resourceful.crops.core.storage.SeedStorage;
+import tehnut.resourceful.crops.network.ChunkSeedsPacketProcessor;
+import tehnut.resourceful.crops.network.ResourcefulPacketHandler;
+import tehnut.resourceful.crops.network.SeedIdsPacketProcessor;
+import tehnut.resourceful.crops.network.SeedReloadPacketProcessor;
 
 public class EventHandler {
 
+    private static final String STORAGE_TAG = "resourcefulcrops";
+
     @SubscribeEvent
     public void onBonemeal(BonemealEvent event) {
         if (event.getBlock().getBlock() == ModObjects.CROP)
             event.setCanceled(true);
     }
+
+    @SubscribeEvent
+    public void onOreRegister(OreDictionary.OreRegisterEvent event) {
+        OreInputs.refresh(event.getName());
+        SeedRecipeIndex.invalidate();
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkDataEvent.Load event) {
+        Chunk chunk = event.getChunk();
+        NBTTagCompound storageTag = event.getData().getCompoundTag(STORAGE_TAG);
+        ChunkSeedStorage storage = null;
+        if (storageTag.hasKey("crops")) {
+            storage = new ChunkSeedStorage();
+            storage.readFromNBT(storageTag);
+        }
+        CatchUpGrowth.readChunk(event.getWorld(), chunk, storageTag);
+
+        // Convert crops saved with a tile entity. The tile entities themselves are discarded by the chunk as the crop no longer provides one.
+        if (ConfigHandler.storage.useChunkStorage) {
+            NBTTagList tileList = event.getData().getCompoundTag("Level").getTagList("TileEntities", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < tileList.tagCount(); i++) {
+                NBTTagCompound tileTag = tileList.getCompoundTagAt(i);
+                if (!TileSeedContainer.ID.equals(tileTag.getString("id")))
+                    continue;
+
+                ResourceLocation seedKey = null;
+                if (tileTag.hasKey("seedId"))
+                    seedKey = SeedIdMap.get(event.getWorld()).getKey(tileTag.getShort("seedId"));
+                else if (tileTag.hasKey("seedKey"))
+                    seedKey = new ResourceLocation(tileTag.getString("seedKey"));
+                if (seedKey == null)
+                    continue;
+
+                if (storage == null)
+                    storage = new ChunkSeedStorage();
+                storage.setSeedKey(new BlockPos(tileTag.getInteger("x"), tileTag.getInteger("y"), tileTag.getInteger("z")), seedKey);
+                chunk.setChunkModified();
+            }
+        }
+
+        if (storage != null)
+            SeedStorage.setChunkStorage(event.getWorld(), chunk.xPosition, chunk.zPosition, storage);
+    }
+
+    @SubscribeEvent
+    public void onChunkLoaded(ChunkEvent.Load event) {
+        if (event.getWorld().isRemote) {
+            // The chunk data brings new tile entities, so any colours from before are stale
+            CropColorCache.invalidateChunk(event.getChunk().xPosition, event.getChunk().zPosition);
+            return;
+        }
+
+        CropIndex.loadChunk(event.getWorld(), event.getChunk());
+        CatchUpGrowth.simulate(event.getWorld(), event.getChunk());
+
+        // Crops planted before scheduled growth was enabled have nothing pending yet
+        if (!ConfigHandler.growth.enableScheduledGrowth)
+            return;
+
+        for (BlockPos pos : SeedStorage.getCropPositions(event.getWorld(), event.getChunk())) {
+            IBlockState state = event.getWorld().getBlockState(pos);
+            if (state.getBlock() == ModObjects.CROP)
+                ((BlockResourcefulCrop) ModObjects.CROP).scheduleGrowth(event.getWorld(), pos, state);
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkSave(ChunkDataEvent.Save event) {
+        Chunk chunk = event.getChunk();
+        ChunkSeedStorage storage = SeedStorage.getChunkStorage(event.getWorld(), chunk.xPosition, chunk.zPosition);
+        NBTTagCompound storageTag = new NBTTagCompound();
+        if (storage != null && !storage.isEmpty())
+            storage.writeToNBT(storageTag);
+        if (SeedStorage.hasCrops(event.getWorld(), chunk)) {
+            CatchUpGrowth.writeChunk(event.getWorld(), storageTag);
+            event.getData().setTag(STORAGE_TAG, storageTag);
+        }
+
+        // Chunks are unloaded before their final save, so the storage is only released once that save has happened
+        if (!chunk.isLoaded())
+            SeedStorage.unloadChunk(event.getWorld(), chunk.xPosition, chunk.zPosition);
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld().isRemote) {
+            SeedStorage.unloadChunk(event.getWorld(), event.getChunk().xPosition, event.getChunk().zPosition);
+            CropColorCache.invalidateChunk(event.getChunk().xPosition, event.getChunk().zPosition);
+        } else {
+            DormantCropTracker.unloadChunk(event.getWorld(), event.getChunk().xPosition, event.getChunk().zPosition);
+            CropIndex.unloadChunk(event.getWorld(), event.getChunk().xPosition, event.getChunk().zPosition);
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkWatch(ChunkWatchEvent.Watch event) {
+        World world = event.getPlayer().getEntityWorld();
+        ChunkSeedStorage storage = SeedStorage.getChunkStorage(world, event.getChunk().chunkXPos, event.getChunk().chunkZPos);
+        if (storage != null && !storage.isEmpty())
+            ResourcefulPacketHandler.INSTANCE.sendTo(new ChunkSeedsPacketProcessor(event.getChunk().chunkXPos, event.getChunk().chunkZPos, storage), event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        if (!(event.player instanceof EntityPlayerMP))
+            return;
+
+        ResourcefulPacketHandler.INSTANCE.sendTo(new SeedIdsPacketProcessor(0, SeedIdMap.get(event.player.getEntityWorld()).getKeys()), (EntityPlayerMP) event.player);
+        SeedReloadPacketProcessor reloaded = SeedReloader.getLoginPacket();
+        if (reloaded != null)
+            ResourcefulPacketHandler.INSTANCE.sendTo(reloaded, (EntityPlayerMP) event.player);
+    }
+
+    @SubscribeEvent
+    public void onClientDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+        // Seeds reloaded by a remote server only apply while connected to it
+        ResourcefulCrops.PROXY.scheduleClientTask(new Runnable() {
+            @Override
+            public void run() {
+                SeedReloader.revertRemoteChanges();
+                ResourcefulCrops.PROXY.onSeedsReloaded();
+            }
+        });
+    }
+
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event) {
+        if (!event.getWorld().isRemote)
+            event.getWorld().addEventListener(new CropWorldListener(event.getWorld()));
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        SeedStorage.unloadWorld(event.getWorld());
+        DormantCropTracker.unloadWorld(event.getWorld());
+        CatchUpGrowth.unloadWorld(event.getWorld());
+        CropIndex.unloadWorld(event.getWorld());
+        if (event.getWorld().isRemote)
+            CropColorCache.clear();
+    }
 }
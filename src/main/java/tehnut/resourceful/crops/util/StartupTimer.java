@@ -0,0 +1,84 @@
+package tehnut.resourceful.crops.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.io.IOUtils;
+import tehnut.resourceful.crops.ResourcefulCrops;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each phase of startup takes along with a few counts, such as the number of seeds and recipes.
+ *
+ * Phases are named with dots to show nesting, eg {@code init.seeds.parse}. Timing a phase with the same name more than
+ * once adds to its total. Everything recorded is logged and written to a JSON file at the end of post init.
+ */
+public class StartupTimer {
+
+    private static final Map<String, Long> PHASES = Maps.newLinkedHashMap();
+    private static final Map<String, Integer> COUNTS = Maps.newLinkedHashMap();
+
+    /**
+     * @return a start time to pass to {@link #end(String, long)}.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void end(String phase, long start) {
+        long elapsed = System.nanoTime() - start;
+        Long total = PHASES.get(phase);
+        PHASES.put(phase, total != null ? total + elapsed : elapsed);
+        ResourcefulCrops.debug("Startup phase {} took {}ms", phase, toMillis(elapsed));
+    }
+
+    public static void count(String name, int amount) {
+        Integer total = COUNTS.get(name);
+        COUNTS.put(name, total != null ? total + amount : amount);
+    }
+
+    /**
+     * Logs everything recorded so far, writes it to the given file and starts over.
+     */
+    public static void report(File file) {
+        for (Map.Entry<String, Long> entry : PHASES.entrySet())
+            ResourcefulCrops.LOGGER.info("Startup phase {}: {}ms", entry.getKey(), toMillis(entry.getValue()));
+        for (Map.Entry<String, Integer> entry : COUNTS.entrySet())
+            ResourcefulCrops.LOGGER.info("Startup count {}: {}", entry.getKey(), entry.getValue());
+
+        JsonWriter writer = null;
+        try {
+            writer = new JsonWriter(new OutputStreamWriter(new FileOutputStream(file), Charsets.UTF_8));
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("version").value(ResourcefulCrops.VERSION);
+            writer.name("timestamp").value(System.currentTimeMillis());
+            writer.name("phases").beginObject();
+            for (Map.Entry<String, Long> entry : PHASES.entrySet())
+                writer.name(entry.getKey()).value(toMillis(entry.getValue()));
+            writer.endObject();
+            writer.name("counts").beginObject();
+            for (Map.Entry<String, Integer> entry : COUNTS.entrySet())
+                writer.name(entry.getKey()).value(entry.getValue());
+            writer.endObject();
+            writer.endObject();
+        } catch (Exception e) {
+            ResourcefulCrops.LOGGER.warn("Unable to write startup timings to {}: {}", file, e.getLocalizedMessage());
+        } finally {
+            IOUtils.closeQuietly(writer);
+        }
+
+        PHASES.clear();
+        COUNTS.clear();
+    }
+
+    // Kept to the microsecond so short phases don't all report zero
+    private static double toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000D;
+    }
+}
@@ -18,6 +18,10 @@ public class Util {
         return null;
     }
 
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX & 0xFFFFFFFFL | ((long) chunkZ & 0xFFFFFFFFL) << 32;
+    }
+
     public static String cleanString(String dirtyString) {
         return dirtyString.replaceAll("[^a-zA-Z0-9]","").trim();
     }